@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Temps jusqu'à la première requête servie (GET /contacts/api), démarrage standard contre
+# démarrage rapide (profil prod + AOT + archive CDS), sur H2 en mémoire pour des mesures reproductibles.
+#
+# Usage : ./mvnw -Pfast-startup -DskipTests package && scripts/measure-startup.sh [lancements]
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18081}
+URL="http://localhost:$PORT/contacts/api?size=1"
+WORK=target/startup
+
+JAR=$(ls target/contact-manager-*.jar | grep -v '\.original$' | head -1)
+unset DATABASE_URL DATABASE_PUBLIC_URL
+
+# Jar éclaté (prérequis CDS) puis démarrage d'entraînement : contexte rafraîchi, classes archivées, arrêt
+rm -rf "$WORK"
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK" > /dev/null
+APP="$WORK/$(basename "$JAR")"
+java -XX:ArchiveClassesAtExit="$WORK/app.jsa" -Dspring.profiles.active=prod -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh -jar "$APP" > "$WORK/training.log" 2>&1
+
+measure() {
+    local label=$1
+    shift
+    local times=()
+    for i in $(seq "$RUNS"); do
+        local start pid
+        start=$(date +%s%N)
+        PORT=$PORT java "$@" -jar "$APP" > "$WORK/$label-$i.log" 2>&1 &
+        pid=$!
+        until curl -sf -o /dev/null "$URL"; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$label : échec du démarrage, voir $WORK/$label-$i.log" >&2
+                exit 1
+            fi
+            sleep 0.02
+        done
+        times+=($(( ($(date +%s%N) - start) / 1000000 )))
+        kill "$pid"
+        wait "$pid" 2> /dev/null || true
+    done
+    local sorted
+    sorted=$(printf '%s\n' "${times[@]}" | sort -n | tr '\n' ' ')
+    printf '%-10s médiane %6s ms   (%s)\n' "$label" \
+        "$(echo "$sorted" | cut -d' ' -f$(( (RUNS + 1) / 2 )))" "$sorted"
+}
+
+measure standard
+measure rapide -XX:SharedArchiveFile="$WORK/app.jsa" -Dspring.profiles.active=prod -Dspring.aot.enabled=true
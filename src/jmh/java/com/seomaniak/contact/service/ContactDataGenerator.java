@@ -0,0 +1,81 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.entity.Contact;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Jeux de données réalistes et reproductibles (graine fixe) pour les benchmarks
+ */
+final class ContactDataGenerator {
+
+    private static final String[] FIRST_NAMES = {"Sarah", "Mohamed", "Amina", "Karim", "Leila", "Youssef",
+            "Nadia", "Omar", "Fatima-Zahra", "Hicham", "Salma", "Mehdi", "Zineb", "Anas", "Imane", "Rachid"};
+    private static final String[] LAST_NAMES = {"Dubois", "Benali", "El Amrani", "Fassi", "Rahmani", "Tazi",
+            "Cherkaoui", "Zaki", "Alaoui", "Berrada", "Idrissi", "Bennani", "Lahlou", "Chraibi", "Sqalli"};
+    private static final String[] COMPANIES = {"SEOMANIAK", "TechSolutions", "Freelance", "DataCorp",
+            "CloudTech", "StartupHub", "MediaGroup", "Atlas \"Digital\"", "Maroc Telecom", "OCP"};
+    private static final String[] CITIES = {"Casablanca", "Rabat", "Marrakech", "Fès", "Tanger", "Agadir",
+            "Meknès", "Oujda", "Kénitra", "Tétouan"};
+    private static final String[] JOB_TITLES = {"Directrice Marketing", "Développeur Full Stack",
+            "Designer UX/UI", "Data Analyst", "Chef de Projet", "CEO", "Content Manager", "CTO"};
+
+    private ContactDataGenerator() {
+    }
+
+    static List<Contact> contacts(int count) {
+        Random random = new Random(42);
+        List<Contact> contacts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String firstName = pick(random, FIRST_NAMES);
+            String lastName = pick(random, LAST_NAMES);
+            String city = pick(random, CITIES);
+            contacts.add(Contact.builder()
+                    .id((long) i + 1)
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .email(firstName.toLowerCase() + "." + i + "@example.ma")
+                    .phone("+2126" + String.format("%08d", random.nextInt(100_000_000)))
+                    .company(pick(random, COMPANIES))
+                    .jobTitle(pick(random, JOB_TITLES))
+                    .address(random.nextInt(200) + " Avenue Hassan II")
+                    .city(city)
+                    .postalCode(String.valueOf(10000 + random.nextInt(90000)))
+                    .country("Maroc")
+                    .birthday(LocalDate.of(1960 + random.nextInt(40), 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                    .website(random.nextBoolean() ? "https://www." + lastName.toLowerCase().replace(' ', '-') + ".ma" : null)
+                    .notes(random.nextInt(4) == 0 ? "Rencontré à " + city + ", \"à rappeler\" en septembre" : null)
+                    .isDeleted(false)
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(i))
+                    .updatedAt(LocalDateTime.of(2025, 1, 1, 9, 0).plusMinutes(i))
+                    .build());
+        }
+        return contacts;
+    }
+
+    /**
+     * Fichier CSV complet (en-tête compris) tel que produit par l'export
+     */
+    static String csvText(int count) {
+        StringWriter writer = new StringWriter(count * 256);
+        try {
+            writer.write(CsvService.CSV_HEADER);
+            for (Contact contact : contacts(count)) {
+                CsvService.writeCsvRow(writer, contact);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
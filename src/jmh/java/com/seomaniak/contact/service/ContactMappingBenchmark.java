@@ -0,0 +1,37 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.entity.Contact;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping entité → DTO de réponse (ContactService.toResponseDTO)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContactMappingBenchmark {
+
+    @Param({"10", "1000"})
+    private int rows;
+
+    private List<Contact> contacts;
+
+    @Setup
+    public void setUp() {
+        contacts = ContactDataGenerator.contacts(rows);
+    }
+
+    @Benchmark
+    public void toResponseDTO(Blackhole blackhole) {
+        for (Contact contact : contacts) {
+            blackhole.consume(ContactService.toResponseDTO(contact));
+        }
+    }
+}
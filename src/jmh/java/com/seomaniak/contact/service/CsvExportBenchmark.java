@@ -0,0 +1,50 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.entity.Contact;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boucle d'export CSV (écriture des lignes + échappement des champs)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvExportBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private List<Contact> contacts;
+
+    @Setup
+    public void setUp() {
+        contacts = ContactDataGenerator.contacts(rows);
+    }
+
+    @Benchmark
+    public void writeRows() throws IOException {
+        // Writer.nullWriter() : on mesure l'encodage des lignes, pas les I/O
+        Writer writer = Writer.nullWriter();
+        for (Contact contact : contacts) {
+            CsvService.writeCsvRow(writer, contact);
+        }
+    }
+
+    @Benchmark
+    public void escapeFields(Blackhole blackhole) {
+        for (Contact contact : contacts) {
+            blackhole.consume(CsvService.escapeSpecialCharacters(contact.getCompany()));
+            blackhole.consume(CsvService.escapeSpecialCharacters(contact.getNotes()));
+            blackhole.consume(CsvService.escapeSpecialCharacters(contact.getAddress()));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.dto.ContactRequestDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing d'un fichier CSV à l'import : CsvTokenizer comparé à l'ancien parseur ligne à ligne
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvParseBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        csv = ContactDataGenerator.csvText(rows);
+    }
+
+    /**
+     * Parcours des positions de champs, sans créer de String
+     */
+    @Benchmark
+    public void tokenizeFields(Blackhole blackhole) throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv));
+        while (tokenizer.nextRecord()) {
+            for (int i = 0; i < tokenizer.fieldCount(); i++) {
+                blackhole.consume(tokenizer.fieldEnd(i) - tokenizer.fieldStart(i));
+            }
+        }
+    }
+
+    /**
+     * Étage de lecture de l'import (thread unique) : champs retenus recopiés par blocs, sans String
+     */
+    @Benchmark
+    public void readBlocks(Blackhole blackhole) throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv));
+        CsvColumns columns = tokenizer.nextRecord() ? CsvColumns.fromHeader(tokenizer) : CsvColumns.LEGACY;
+        CsvColumns.Records block = new CsvColumns.Records(columns, ImportPipeline.BLOCK_SIZE);
+        while (tokenizer.nextRecord()) {
+            block.add(tokenizer);
+            if (block.size() == ImportPipeline.BLOCK_SIZE) {
+                blackhole.consume(block);
+                block = new CsvColumns.Records(columns, ImportPipeline.BLOCK_SIZE);
+            }
+        }
+        blackhole.consume(block);
+    }
+
+    /**
+     * Chemin réel de l'import : en-tête résolu, blocs recopiés puis construction des contacts
+     */
+    @Benchmark
+    public void tokenizeContacts(Blackhole blackhole) throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv));
+        CsvColumns columns = tokenizer.nextRecord() ? CsvColumns.fromHeader(tokenizer) : CsvColumns.LEGACY;
+        CsvColumns.Records block = new CsvColumns.Records(columns, ImportPipeline.BLOCK_SIZE);
+        while (tokenizer.nextRecord()) {
+            block.add(tokenizer);
+            if (block.size() == ImportPipeline.BLOCK_SIZE) {
+                consumeContacts(block, blackhole);
+                block = new CsvColumns.Records(columns, ImportPipeline.BLOCK_SIZE);
+            }
+        }
+        consumeContacts(block, blackhole);
+    }
+
+    private static void consumeContacts(CsvColumns.Records block, Blackhole blackhole) {
+        for (int i = 0; i < block.size(); i++) {
+            ContactRequestDTO request = CsvService.toRequest(block, i);
+            blackhole.consume(request == null ? null : CsvService.toContact(request));
+        }
+    }
+
+    /**
+     * Référence : readLine() puis découpage avec un StringBuilder par champ (ancien parseCsvLine)
+     */
+    @Benchmark
+    public void legacyReadLine(Blackhole blackhole) throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader(csv));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] values = legacyParse(line);
+            for (String value : values) {
+                blackhole.consume(value.trim());
+            }
+        }
+    }
+
+    private static String[] legacyParse(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+        char separator = line.contains(";") ? ';' : ',';
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            } else if (c == separator && !inQuotes) {
+                values.add(current.toString());
+                current = new StringBuilder();
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,62 @@
+package com.seomaniak.contact.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Connexions du pool réservées aux tâches de fond : lecture du journal pour le flux SSE, vérification
+ * des facettes, purge du journal, chargement de l'autocomplétion, recalage du compteur, contrôle des index.
+ * <p>
+ * Ces tâches ne passent pas par le limiteur HTTP : au plus {@code background-connections} d'entre elles
+ * travaillent en base en même temps, les suivantes attendent leur tour. {@link DatabaseConcurrencyLimiter}
+ * retire ces connexions du quota des requêtes.
+ */
+@Component
+public class BackgroundConnections {
+
+    private final int connections;
+    private final Semaphore permits;
+
+    public BackgroundConnections(MeterRegistry registry,
+                                 @Value("${contact.database.limiter.background-connections:2}") int connections) {
+        if (connections < 1) {
+            throw new IllegalStateException("contact.database.limiter.background-connections (" + connections
+                    + ") doit valoir au moins 1");
+        }
+        this.connections = connections;
+        this.permits = new Semaphore(connections, true);
+
+        Gauge.builder("contact.db.background.active", permits, p -> this.connections - p.availablePermits())
+                .description("Tâches de fond en cours avec accès base")
+                .register(registry);
+        Gauge.builder("contact.db.background.waiting", permits, Semaphore::getQueueLength)
+                .description("Tâches de fond en attente d'une connexion réservée")
+                .register(registry);
+    }
+
+    public <T> T call(Supplier<T> work) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tâche de fond interrompue en attente d'une connexion", e);
+        }
+        try {
+            return work.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.seomaniak.contact.config;
+
+import com.seomaniak.contact.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Borne le nombre de requêtes HTTP qui travaillent en base en même temps.
+ * <p>
+ * Servies par des threads virtuels, les requêtes ne sont plus limitées par le pool de threads Tomcat
+ * et s'empileraient sinon sur le pool de connexions jusqu'à son délai d'attente. Au-delà de
+ * {@code max-concurrent}, une requête attend une place au plus {@code acquire-timeout} (file FIFO),
+ * puis reçoit un 503 avec Retry-After. Les connexions des threads d'écriture des imports, celle de l'archivage
+ * et celles des autres tâches de fond ({@link BackgroundConnections}) sont réservées et n'entrent pas dans le quota.
+ */
+@Component
+public class DatabaseConcurrencyLimiter implements AsyncHandlerInterceptor {
+
+    // Place prise par la requête, conservée pendant un traitement asynchrone (export en streaming)
+    private static final String PERMIT_ATTRIBUTE = DatabaseConcurrencyLimiter.class.getName() + ".permit";
+
+    private final int maxConcurrent;
+    private final Duration acquireTimeout;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public DatabaseConcurrencyLimiter(MeterRegistry registry,
+                                      @Value("${contact.database.pool.maximum-size:10}") int poolSize,
+                                      @Value("${contact.database.limiter.max-concurrent:0}") int maxConcurrent,
+                                      @Value("${contact.database.limiter.acquire-timeout:2s}") Duration acquireTimeout,
+                                      @Value("${contact.import.max-concurrent-jobs:1}") int importJobs,
+                                      @Value("${contact.import.pipeline.writer-threads:2}") int importWriters,
+                                      @Value("${contact.archive.enabled:true}") boolean archiveEnabled,
+                                      @Value("${contact.database.limiter.background-connections:2}") int background) {
+        int reserved = importJobs * importWriters + (archiveEnabled ? 1 : 0) + background;
+        int available = poolSize - reserved;
+        if (available < 1) {
+            throw new IllegalStateException("contact.database.pool.maximum-size (" + poolSize + ") doit dépasser les "
+                    + reserved + " connexion(s) réservée(s) aux imports, à l'archivage et aux tâches de fond");
+        }
+        if (maxConcurrent > available) {
+            throw new IllegalStateException("contact.database.limiter.max-concurrent (" + maxConcurrent
+                    + ") dépasse les " + available + " connexion(s) disponibles pour les requêtes");
+        }
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : available;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(this.maxConcurrent, true);
+
+        this.rejected = Counter.builder("contact.db.limiter.rejected")
+                .description("Requêtes refusées (503) faute de place en base")
+                .register(registry);
+        Gauge.builder("contact.db.limiter.active", permits, p -> this.maxConcurrent - p.availablePermits())
+                .description("Requêtes en cours avec accès base")
+                .register(registry);
+        Gauge.builder("contact.db.limiter.waiting", permits, Semaphore::getQueueLength)
+                .description("Requêtes en attente d'une place")
+                .register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        // Redispatch d'une requête asynchrone : la place a été prise au premier passage
+        if (!(handler instanceof HandlerMethod) || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            rejected.increment();
+            throw new DatabaseBusyException("Service momentanément saturé, veuillez réessayer dans quelques instants");
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.seomaniak.contact.config;
+
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Base de données effectivement utilisée (PostgreSQL sur Railway, H2 en local),
+ * détectée une seule fois via les métadonnées JDBC.
+ */
+@Component
+public class DatabasePlatform {
+
+    private final String productName;
+
+    public DatabasePlatform(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            this.productName = connection.getMetaData().getDatabaseProductName();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Impossible de détecter la base de données: " + e.getMessage(), e);
+        }
+    }
+
+    public boolean isPostgres() {
+        return productName.toLowerCase(Locale.ROOT).contains("postgres");
+    }
+
+    public boolean isH2() {
+        return productName.toLowerCase(Locale.ROOT).contains("h2");
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+}
@@ -0,0 +1,162 @@
+package com.seomaniak.contact.config;
+
+import com.seomaniak.contact.model.entity.Contact;
+import com.seomaniak.contact.repository.ContactRepository;
+import com.seomaniak.contact.service.ChangeOperation;
+import com.seomaniak.contact.service.ContactChangeLog;
+import com.seomaniak.contact.service.ContactCounter;
+import com.seomaniak.contact.service.ContactFacets;
+import com.seomaniak.contact.service.ContactSuggestIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Contacts de démonstration insérés si la table est vide (local H2 et Railway PostgreSQL).
+ * <p>
+ * Exécuté sur un thread virtuel une fois l'application prête, hors du chemin de démarrage :
+ * les premières requêtes n'attendent pas le seed. Contacts, facettes et journal sont écrits dans une seule
+ * transaction ; compteur et autocomplétion ne sont mis à jour qu'à son commit. Désactivable par
+ * {@code contact.seed.enabled}.
+ */
+@Slf4j
+@Component
+public class DemoDataSeeder {
+
+    private final ContactRepository repository;
+    private final ContactCounter counter;
+    private final ContactSuggestIndex suggestIndex;
+    private final ContactFacets facets;
+    private final ContactChangeLog changeLog;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public DemoDataSeeder(ContactRepository repository, ContactCounter counter, ContactSuggestIndex suggestIndex,
+                          ContactFacets facets, ContactChangeLog changeLog, PlatformTransactionManager transactionManager,
+                          @Value("${contact.seed.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.counter = counter;
+        this.suggestIndex = suggestIndex;
+        this.facets = facets;
+        this.changeLog = changeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedInBackground() {
+        if (enabled) {
+            Thread.ofVirtual().name("demo-seed").start(this::seed);
+        }
+    }
+
+    void seed() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Une ligne suffit à savoir que la table n'est pas vide (LIMIT 1 au lieu d'un COUNT)
+                if (repository.existsByIdIsNotNull()) {
+                    log.info("Seed ignoré : la base contient déjà des contacts");
+                    return;
+                }
+                List<Contact> saved = repository.saveAll(contacts());
+                List<Contact> active = saved.stream().filter(contact -> !contact.getIsDeleted()).toList();
+                counter.adjust(active.size());
+                suggestIndex.add(active.stream().map(ContactSuggestIndex::toSuggestion).toList());
+                facets.added(active.stream().map(ContactFacets.Values::of).toList());
+                changeLog.record(ChangeOperation.CREATED, active.stream().map(Contact::getId).toList());
+                log.info("{} contacts de démonstration insérés", saved.size());
+            });
+        } catch (RuntimeException e) {
+            log.warn("Seed des contacts de démonstration impossible : {}", e.getMessage());
+        }
+    }
+
+    private static List<Contact> contacts() {
+        return List.of(
+            Contact.builder()
+                .firstName("Sarah").lastName("Dubois")
+                .email("sarah.d@gmail.com").phone("+212612345678")
+                .company("SEOMANIAK").jobTitle("Directrice Marketing")
+                .address("45 Avenue Hassan II").city("Casablanca")
+                .postalCode("20000").country("Maroc")
+                .birthday(LocalDate.of(1990, 5, 15))
+                .website("https://www.seomaniak.ma")
+                .notes("Contact principal pour les projets digitaux")
+                .createdAt(LocalDateTime.now()).build(),
+
+            Contact.builder()
+                .firstName("Mohamed").lastName("Benali")
+                .email("m.benali@outlook.com").phone("+212700112233")
+                .company("TechSolutions").jobTitle("Développeur Full Stack")
+                .address("12 Rue de la Liberté").city("Rabat")
+                .postalCode("10000").country("Maroc")
+                .birthday(LocalDate.of(1988, 3, 22))
+                .website("https://github.com/mbenali")
+                .createdAt(LocalDateTime.now()).build(),
+
+            Contact.builder()
+                .firstName("Amina").lastName("El Amrani")
+                .email("amina92@yahoo.com").phone("+212699887766")
+                .company("Freelance").jobTitle("Designer UX/UI")
+                .address("78 Boulevard Zerktouni").city("Marrakech")
+                .postalCode("40000").country("Maroc")
+                .birthday(LocalDate.of(1992, 11, 8))
+                .notes("Spécialiste en design d'interfaces mobiles")
+                .createdAt(LocalDateTime.now()).build(),
+
+            Contact.builder()
+                .firstName("Karim").lastName("Fassi")
+                .email("karim.fassi@gmail.com").phone("+212655443322")
+                .company("DataCorp").jobTitle("Data Analyst")
+                .address("23 Rue Moulay Ismail").city("Fès")
+                .postalCode("30000").country("Maroc")
+                .birthday(LocalDate.of(1985, 7, 12))
+                .createdAt(LocalDateTime.now()).build(),
+
+            Contact.builder()
+                .firstName("Leila").lastName("Rahmani")
+                .email("leila.r@protonmail.com").phone("+212677889900")
+                .company("CloudTech").jobTitle("Chef de Projet")
+                .address("56 Avenue Mohammed V").city("Tanger")
+                .postalCode("90000").country("Maroc")
+                .birthday(LocalDate.of(1987, 9, 25))
+                .website("https://leilarahmani.com")
+                .notes("Expert en gestion de projets agiles")
+                .createdAt(LocalDateTime.now()).build(),
+
+            Contact.builder()
+                .firstName("Youssef").lastName("Tazi")
+                .email("y.tazi@hotmail.com").phone("+212611223344")
+                .company("StartupHub").jobTitle("CEO")
+                .isDeleted(true)
+                .createdAt(LocalDateTime.now()).build(),
+
+            Contact.builder()
+                .firstName("Nadia").lastName("Cherkaoui")
+                .email("nadia.cherkaoui@gmail.com").phone("+212633445566")
+                .company("MediaGroup").jobTitle("Content Manager")
+                .address("34 Rue des FAR").city("Agadir")
+                .postalCode("80000").country("Maroc")
+                .createdAt(LocalDateTime.now()).build(),
+
+            Contact.builder()
+                .firstName("Omar").lastName("Zaki")
+                .email("o.zaki@seomaniak.ma").phone("+212688776655")
+                .company("SEOMANIAK").jobTitle("CTO")
+                .address("45 Avenue Hassan II").city("Casablanca")
+                .postalCode("20000").country("Maroc")
+                .birthday(LocalDate.of(1983, 1, 10))
+                .website("https://www.seomaniak.ma")
+                .notes("Co-fondateur et responsable technique")
+                .createdAt(LocalDateTime.now()).build()
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package com.seomaniak.contact.config;
+
+import com.seomaniak.contact.service.ContactBulkWriter;
+import com.seomaniak.contact.service.JdbcMergeContactBulkWriter;
+import com.seomaniak.contact.service.PostgresContactBulkWriter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class ImportConfig {
+
+    // COPY + ON CONFLICT sur PostgreSQL (Railway), MERGE JDBC portable sur H2 (local)
+    @Bean
+    public ContactBulkWriter contactBulkWriter(DatabasePlatform databasePlatform, DataSource dataSource,
+                                               JdbcTemplate jdbcTemplate,
+                                               NamedParameterJdbcTemplate namedJdbcTemplate) {
+        if (databasePlatform.isPostgres()) {
+            return new PostgresContactBulkWriter(dataSource, jdbcTemplate);
+        }
+        return new JdbcMergeContactBulkWriter(jdbcTemplate, namedJdbcTemplate);
+    }
+}
@@ -0,0 +1,215 @@
+package com.seomaniak.contact.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Source de données du primaire qui envoie les transactions en lecture seule vers les réplicas.
+ * <p>
+ * La connexion n'est obtenue qu'au premier ordre SQL (LazyConnectionDataSourceProxy) : le marquage
+ * lecture seule posé par la transaction est alors connu et choisit le pool. Les lectures vont à tour
+ * de rôle sur les réplicas joignables dont le retard, vérifié toutes les {@code check-interval},
+ * ne dépasse pas {@code max-lag} ; sinon elles restent sur le primaire, comme celles d'une requête
+ * épinglée par {@link #pinToPrimary()} (client qui vient d'écrire). Écritures et migrations : primaire.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    // Retard de rejeu en secondes ; 0 pour un réplica à jour (un primaire inactif ne crée pas de faux retard)
+    private static final String POSTGRES_LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery()"
+            + " OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, Duration maxLag,
+                                      Duration checkInterval, MeterRegistry registry) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagMillis = maxLag.toMillis();
+        setReadOnlyDataSource(new ReadOnlyDataSource());
+
+        this.replicaReads = Counter.builder("contact.db.reads")
+                .description("Transactions en lecture seule par destination")
+                .tag("target", "replica")
+                .register(registry);
+        this.primaryReads = Counter.builder("contact.db.reads")
+                .description("Transactions en lecture seule par destination")
+                .tag("target", "primary")
+                .register(registry);
+        for (Replica replica : this.replicas) {
+            Gauge.builder("contact.db.replica.lag", replica, r -> r.available ? r.lagMillis / 1000d : Double.NaN)
+                    .description("Retard de rejeu du réplica (NaN si injoignable)")
+                    .tag("pool", replica.pool.getPoolName())
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+
+        // Réplicas considérés indisponibles jusqu'à leur première vérification
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("contact-replica-check").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::checkReplicas, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Envoie les lectures du thread courant sur le primaire jusqu'à {@link #unpin()}
+     */
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    /**
+     * Exécute {@code action} avec les lectures du thread sur le primaire, puis rétablit l'épinglage d'avant.
+     * Pour les chargements d'un état partagé entre clients (cache, index, compteur) : une ligne lue sur un
+     * réplica en retard y resterait bien après que le réplica a rattrapé l'écriture.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        boolean pinned = Boolean.TRUE.equals(PINNED.get());
+        PINNED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (!pinned) {
+                PINNED.remove();
+            }
+        }
+    }
+
+    public static void onPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * true si au moins un réplica reçoit actuellement des lectures
+     */
+    public boolean hasUsableReplica() {
+        return replicas.stream().anyMatch(this::usable);
+    }
+
+    public long getReplicaReads() {
+        return (long) replicaReads.count();
+    }
+
+    public long getPrimaryReads() {
+        return (long) primaryReads.count();
+    }
+
+    private boolean usable(Replica replica) {
+        return replica.available && replica.lagMillis <= maxLagMillis;
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement()) {
+                long lagMillis = 0;
+                if (connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgresql")) {
+                    try (ResultSet rs = statement.executeQuery(POSTGRES_LAG_SQL)) {
+                        rs.next();
+                        lagMillis = Math.round(rs.getDouble(1) * 1000);
+                    }
+                } else {
+                    // H2 : pas de réplication, seule la disponibilité compte
+                    statement.execute("SELECT 1");
+                }
+                if (lagMillis > maxLagMillis && replica.lagMillis <= maxLagMillis) {
+                    log.warn("Réplica {} en retard de {} ms : lectures envoyées au primaire",
+                            replica.pool.getPoolName(), lagMillis);
+                }
+                replica.lagMillis = lagMillis;
+                replica.available = true;
+            } catch (SQLException | RuntimeException e) {
+                if (replica.available) {
+                    log.warn("Réplica {} injoignable : lectures envoyées au primaire ({})",
+                            replica.pool.getPoolName(), e.getMessage());
+                }
+                replica.available = false;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    // Cible des connexions marquées lecture seule
+    private class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!Boolean.TRUE.equals(PINNED.get())) {
+                int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+                for (int i = 0; i < replicas.size(); i++) {
+                    Replica replica = replicas.get((start + i) % replicas.size());
+                    if (!usable(replica)) {
+                        continue;
+                    }
+                    try {
+                        Connection connection = replica.pool.getConnection();
+                        replicaReads.increment();
+                        return connection;
+                    } catch (SQLException e) {
+                        // Écarté jusqu'à la prochaine vérification réussie
+                        replica.available = false;
+                        log.warn("Réplica {} injoignable : {}", replica.pool.getPoolName(), e.getMessage());
+                    }
+                }
+            }
+            primaryReads.increment();
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+
+    private static class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean available;
+        private volatile long lagMillis;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
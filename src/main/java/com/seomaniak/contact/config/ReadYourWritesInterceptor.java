@@ -0,0 +1,83 @@
+package com.seomaniak.contact.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Lecture de ses propres écritures avec des réplicas : une requête d'écriture (POST, PUT, PATCH, DELETE)
+ * pose un cookie valable {@code sticky-window} et, tant qu'il court, les requêtes du même client lisent
+ * sur le primaire, le temps que les réplicas rattrapent l'écriture. Sans réplica configuré : sans effet.
+ */
+@Component
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    static final String COOKIE_NAME = "contact-primary-until";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final boolean enabled;
+    private final Duration stickyWindow;
+
+    public ReadYourWritesInterceptor(DataSource dataSource,
+                                     @Value("${contact.database.replicas.sticky-window:5s}") Duration stickyWindow) {
+        this.enabled = dataSource instanceof ReadWriteRoutingDataSource;
+        this.stickyWindow = stickyWindow;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (!READ_METHODS.contains(request.getMethod())) {
+            // Posé avant l'écriture du corps de la réponse
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now + stickyWindow.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, stickyWindow.toSeconds()));
+            response.addCookie(cookie);
+            ReadWriteRoutingDataSource.pinToPrimary();
+        } else if (pinnedUntil(request) > now) {
+            ReadWriteRoutingDataSource.pinToPrimary();
+        }
+        return true;
+    }
+
+    // Le thread de la requête est rendu pendant un traitement asynchrone (export en streaming)
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ReadWriteRoutingDataSource.unpin();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReadWriteRoutingDataSource.unpin();
+    }
+
+    private long pinnedUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
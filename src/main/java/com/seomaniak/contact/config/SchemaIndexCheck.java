@@ -0,0 +1,102 @@
+package com.seomaniak.contact.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Vérifie au démarrage (et via /actuator/health) que les index attendus par les requêtes
+ * de liste, de recherche, d'export et d'archivage existent bien sur la table contacts.
+ */
+@Slf4j
+@Component("schemaIndexes")
+public class SchemaIndexCheck implements HealthIndicator {
+
+    private static final List<String> POSTGRES_INDEXES = List.of(
+            "idx_contacts_active_last_name",
+            "idx_contacts_active_updated_at",
+            "idx_contacts_active_id",
+            "idx_contacts_search_trgm",
+            "idx_contacts_search_fts",
+            "idx_contacts_email_lower",
+            "idx_contacts_deleted_updated_at",
+            "idx_contacts_active_city",
+            "idx_contacts_active_country",
+            "idx_contacts_active_company");
+
+    private static final List<String> H2_INDEXES = List.of(
+            "idx_contacts_active_last_name",
+            "idx_contacts_active_updated_at");
+
+    private final DataSource dataSource;
+    private final DatabasePlatform databasePlatform;
+    private final BackgroundConnections backgroundConnections;
+
+    public SchemaIndexCheck(DataSource dataSource, DatabasePlatform databasePlatform,
+                            BackgroundConnections backgroundConnections) {
+        this.dataSource = dataSource;
+        this.databasePlatform = databasePlatform;
+        this.backgroundConnections = backgroundConnections;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportMissingIndexes() {
+        try {
+            List<String> missing = findMissingIndexes();
+            if (missing.isEmpty()) {
+                log.info("Index de la table contacts : OK");
+            } else {
+                log.warn("Index manquants sur la table contacts (parcours complets + tris à prévoir) : {}", missing);
+            }
+        } catch (SQLException e) {
+            log.warn("Impossible de vérifier les index de la table contacts : {}", e.getMessage());
+        }
+    }
+
+    // Appelé à chaque /actuator/health, hors limiteur HTTP : sur une connexion réservée aux tâches de fond
+    @Override
+    public Health health() {
+        return backgroundConnections.call(() -> {
+            try {
+                List<String> missing = findMissingIndexes();
+                // Reste UP : un index manquant dégrade les performances, pas la disponibilité
+                return Health.up().withDetail("missingIndexes", missing).build();
+            } catch (SQLException e) {
+                return Health.unknown().withException(e).build();
+            }
+        });
+    }
+
+    public List<String> findMissingIndexes() throws SQLException {
+        List<String> expected = databasePlatform.isPostgres() ? POSTGRES_INDEXES : H2_INDEXES;
+        Set<String> existing = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? "CONTACTS" : "contacts";
+            try (ResultSet indexes = metaData.getIndexInfo(null, null, table, false, true)) {
+                while (indexes.next()) {
+                    String name = indexes.getString("INDEX_NAME");
+                    if (name != null) {
+                        existing.add(name.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+
+        return expected.stream().filter(name -> !existing.contains(name)).toList();
+    }
+}
@@ -0,0 +1,26 @@
+package com.seomaniak.contact.config;
+
+import com.seomaniak.contact.repository.ContactRepository;
+import com.seomaniak.contact.service.ContactSearchEngine;
+import com.seomaniak.contact.service.JpqlContactSearchEngine;
+import com.seomaniak.contact.service.PostgresContactSearchEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@Configuration
+public class SearchConfig {
+
+    // Moteur indexé sur PostgreSQL (Railway), moteur JPQL portable sur H2 (local)
+    @Bean
+    public ContactSearchEngine contactSearchEngine(DatabasePlatform databasePlatform,
+                                                   ContactRepository repository,
+                                                   NamedParameterJdbcTemplate jdbcTemplate,
+                                                   @Value("${contact.count.estimate-threshold:5000}") long estimateThreshold) {
+        if (databasePlatform.isPostgres()) {
+            return new PostgresContactSearchEngine(jdbcTemplate, estimateThreshold);
+        }
+        return new JpqlContactSearchEngine(repository);
+    }
+}
@@ -0,0 +1,37 @@
+package com.seomaniak.contact.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Réglages du démarrage : ce qui n'est pas nécessaire aux premières requêtes est créé à la demande.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    /**
+     * Beans springdoc (scan des contrôleurs, génération OpenAPI, Swagger UI) créés au premier appel
+     * de /v3/api-docs ou /swagger-ui.html plutôt qu'au démarrage. Statique : doit s'exécuter avant
+     * la création des autres beans de configuration.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazySpringdocBeans() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (isSpringdoc(definition.getBeanClassName()) || isSpringdoc(definition.getFactoryBeanName())) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    // Les beans des auto-configurations sont nommés d'après leur classe
+    private static boolean isSpringdoc(String name) {
+        return name != null && name.startsWith(SPRINGDOC_PACKAGE);
+    }
+}
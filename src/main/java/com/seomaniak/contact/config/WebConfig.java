@@ -0,0 +1,28 @@
+package com.seomaniak.contact.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final DatabaseConcurrencyLimiter databaseConcurrencyLimiter;
+    private final ReadYourWritesInterceptor readYourWritesInterceptor;
+
+    public WebConfig(DatabaseConcurrencyLimiter databaseConcurrencyLimiter,
+                     ReadYourWritesInterceptor readYourWritesInterceptor) {
+        this.databaseConcurrencyLimiter = databaseConcurrencyLimiter;
+        this.readYourWritesInterceptor = readYourWritesInterceptor;
+    }
+
+    // Pages et API des contacts (ressources statiques, Swagger et actuator non concernés)
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(databaseConcurrencyLimiter).addPathPatterns("/contacts", "/contacts/**")
+                // Autocomplétion servie depuis la mémoire ; flux SSE ouvert longtemps, lu par un seul thread
+                .excludePathPatterns("/contacts/api/suggest", "/contacts/api/suggest/stats",
+                        "/contacts/api/changes/stream");
+        registry.addInterceptor(readYourWritesInterceptor).addPathPatterns("/contacts", "/contacts/**");
+    }
+}
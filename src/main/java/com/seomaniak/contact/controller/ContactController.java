@@ -1,53 +1,131 @@
 package com.seomaniak.contact.controller;
 
+import com.seomaniak.contact.config.ReadWriteRoutingDataSource;
+import com.seomaniak.contact.exception.ImportCapacityException;
+import com.seomaniak.contact.exception.RestoreConflictException;
+import com.seomaniak.contact.model.dto.ArchiveRunDTO;
+import com.seomaniak.contact.model.dto.BatchResultDTO;
+import com.seomaniak.contact.model.dto.CacheStatsDTO;
+import com.seomaniak.contact.model.dto.ContactChangesPageDTO;
+import com.seomaniak.contact.model.dto.ContactPageDTO;
 import com.seomaniak.contact.model.dto.ContactRequestDTO;
 import com.seomaniak.contact.model.dto.ContactResponseDTO;
+import com.seomaniak.contact.model.dto.ContactSuggestionDTO;
+import com.seomaniak.contact.model.dto.CursorPageDTO;
+import com.seomaniak.contact.model.dto.FacetsDTO;
+import com.seomaniak.contact.model.dto.ImportJobDTO;
+import com.seomaniak.contact.model.dto.SuggestIndexStatsDTO;
+import com.seomaniak.contact.service.ContactArchiver;
+import com.seomaniak.contact.service.ContactBatchService;
+import com.seomaniak.contact.service.ContactCache;
+import com.seomaniak.contact.service.ContactChangeLog;
+import com.seomaniak.contact.service.ContactChangeStream;
+import com.seomaniak.contact.service.ContactCursor;
+import com.seomaniak.contact.service.ContactFilter;
 import com.seomaniak.contact.service.ContactService;
+import com.seomaniak.contact.service.ContactSuggestIndex;
 import com.seomaniak.contact.service.CsvService;
+import com.seomaniak.contact.service.DuplicatePolicy;
+import com.seomaniak.contact.service.ExportFormat;
+import com.seomaniak.contact.service.ImportJobService;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.io.IOException;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
 
 @Controller
 @RequestMapping("/contacts")
 public class ContactController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final int PAGE_WINDOW = 2;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_FACET_VALUES = 50;
+    private static final int MAX_CHANGES_PAGE_SIZE = 1000;
+    // Export : numéro du journal des modifications à reprendre ensuite (since=) pour rester à jour
+    private static final String CHANGES_SINCE_HEADER = "X-Contact-Changes-Since";
+    private static final int LIST_FACET_VALUES = 8;
+    // Réponses conservées par le client mais revalidées à chaque usage (ETag)
+    private static final String REVALIDATE = "private, no-cache";
+    private static final String DEPLOYMENT_VERSION = Long.toString(System.currentTimeMillis(), 36);
+
     private final ContactService service;
+    private final ContactBatchService batchService;
     private final CsvService csvService;
+    private final ImportJobService importJobService;
+    private final ContactCache contactCache;
+    private final ContactArchiver contactArchiver;
+    private final ContactSuggestIndex suggestIndex;
+    private final ContactChangeLog changeLog;
+    private final ContactChangeStream changeStream;
 
-    public ContactController(ContactService service, CsvService csvService) {
+    public ContactController(ContactService service, ContactBatchService batchService, CsvService csvService,
+                             ImportJobService importJobService, ContactCache contactCache,
+                             ContactArchiver contactArchiver, ContactSuggestIndex suggestIndex,
+                             ContactChangeLog changeLog, ContactChangeStream changeStream) {
         this.service = service;
+        this.batchService = batchService;
         this.csvService = csvService;
+        this.importJobService = importJobService;
+        this.contactCache = contactCache;
+        this.contactArchiver = contactArchiver;
+        this.suggestIndex = suggestIndex;
+        this.changeLog = changeLog;
+        this.changeStream = changeStream;
     }
 
-    // Page principale avec recherche + pagination
+    // Page principale avec recherche, filtres par facette + pagination
     @GetMapping
     public String list(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String company,
             Model model) {
 
-        var pageable = PageRequest.of(page, size, Sort.by("lastName").ascending());
-        var result = service.findAll(search, pageable);
+        // Sans tri explicite : ordre du service (nom puis id), stable d'une page à l'autre entre homonymes
+        var pageable = PageRequest.of(page, size);
+        var filter = new ContactFilter(city, country, company);
+        var result = service.findAll(search, filter, pageable);
 
         model.addAttribute("contacts", result.getContent());
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", result.getTotalPages());
+        model.addAttribute("totalElements", result.getTotalElements());
+        model.addAttribute("totalExact", result.isTotalExact());
+        model.addAttribute("hasNext", result.isHasNext());
+        // Fenêtre de 5 numéros autour de la page courante (le total peut être estimé)
+        model.addAttribute("pageStart", Math.max(0, page - PAGE_WINDOW));
+        model.addAttribute("pageEnd", Math.max(page, Math.min(result.getTotalPages() - 1, page + PAGE_WINDOW)));
         model.addAttribute("search", search);
+        model.addAttribute("city", filter.city());
+        model.addAttribute("country", filter.country());
+        model.addAttribute("company", filter.company());
+        model.addAttribute("facets", service.findFacets(search, filter, LIST_FACET_VALUES));
 
         return "contacts/list";
     }
@@ -66,9 +144,12 @@ public class ContactController {
         return "contacts/form";
     }
 
-    // Vue détaillée d'un contact
+    // Vue détaillée d'un contact (304 si la page en cache du navigateur est à jour)
     @GetMapping("/{id}")
-    public String detail(@PathVariable Long id, Model model) {
+    public String detail(@PathVariable Long id, Model model, ServletWebRequest request) {
+        if (notModified(request, id)) {
+            return null;
+        }
         model.addAttribute("contact", service.findById(id));
         return "contacts/detail";
     }
@@ -112,49 +193,190 @@ public class ContactController {
         return "redirect:/contacts";
     }
 
-    // API REST (pour Postman/Swagger)
+    // API REST (pour Postman/Swagger) ; aucun COUNT par requête : ETag sur la version du journal, page en
+    // LIMIT n+1, total maintenu par ContactCounter (ou gardé par terme de recherche)
     @GetMapping("/api")
     @ResponseBody
-    public Page<ContactResponseDTO> apiList(@RequestParam(defaultValue = "0") int page,
+    public ContactPageDTO<?> apiList(@RequestParam(defaultValue = "0") int page,
                        @RequestParam(defaultValue = "10") int size,
-                       @RequestParam(required = false) String search) {
-        return service.findAll(search, PageRequest.of(page, size));
+                       @RequestParam(required = false) String search,
+                       @RequestParam(required = false) String city,
+                       @RequestParam(required = false) String country,
+                       @RequestParam(required = false) String company,
+                       @RequestParam(required = false) List<String> fields,
+                       ServletWebRequest request) {
+        if (listNotModified(request)) {
+            return null;
+        }
+        var filter = new ContactFilter(city, country, company);
+        // fields=firstName,email : seules ces colonnes (+ id) sont lues et renvoyées
+        if (fields != null && !fields.isEmpty()) {
+            return service.findAll(search, filter, PageRequest.of(page, size), fields);
+        }
+        return service.findAll(search, filter, PageRequest.of(page, size));
+    }
+
+    // Comptes par ville, pays et société pour la recherche et les filtres donnés (même ETag que la liste)
+    @GetMapping("/api/facets")
+    @ResponseBody
+    public FacetsDTO apiFacets(@RequestParam(required = false) String search,
+                       @RequestParam(required = false) String city,
+                       @RequestParam(required = false) String country,
+                       @RequestParam(required = false) String company,
+                       @RequestParam(defaultValue = "10") int limit,
+                       ServletWebRequest request) {
+        if (listNotModified(request)) {
+            return null;
+        }
+        return service.findFacets(search, new ContactFilter(city, country, company),
+                Math.max(1, Math.min(limit, MAX_FACET_VALUES)));
+    }
+
+    // Parcours complet par curseur (clients de synchronisation) : pas de COUNT ni d'OFFSET
+    @GetMapping("/api/cursor")
+    @ResponseBody
+    public CursorPageDTO<ContactResponseDTO> apiCursor(@RequestParam(required = false) String cursor,
+                       @RequestParam(defaultValue = "100") int size,
+                       @RequestParam(defaultValue = "lastName") String sort) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        return service.findPage(cursor, ContactCursor.SortKey.fromParameter(sort), pageSize);
+    }
+
+    // Autocomplétion de la recherche : servie par l'index en mémoire, sans accès base
+    @GetMapping("/api/suggest")
+    @ResponseBody
+    public List<ContactSuggestionDTO> apiSuggest(@RequestParam(defaultValue = "") String q,
+                       @RequestParam(defaultValue = "10") int limit) {
+        return suggestIndex.suggest(q, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    @GetMapping("/api/suggest/stats")
+    @ResponseBody
+    public SuggestIndexStatsDTO apiSuggestStats() {
+        return suggestIndex.stats();
+    }
+
+    // Journal des modifications (miroirs) : entrées de numéro > since, par lots ; 410 si since a été purgé
+    @GetMapping("/api/changes")
+    @ResponseBody
+    public ContactChangesPageDTO apiChanges(@RequestParam(defaultValue = "0") long since,
+                       @RequestParam(defaultValue = "500") int limit) {
+        return changeLog.changes(since, Math.max(1, Math.min(limit, MAX_CHANGES_PAGE_SIZE)));
+    }
+
+    // Même journal en flux SSE ; une reconnexion reprend après Last-Event-ID (prioritaire sur since)
+    @GetMapping(value = "/api/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter apiChangesStream(@RequestParam(defaultValue = "0") long since,
+                       @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeStream.subscribe(lastEventId != null ? lastEventId : since);
     }
 
     @GetMapping("/api/{id}")
     @ResponseBody
-    public ContactResponseDTO apiGet(@PathVariable Long id) {
+    public ContactResponseDTO apiGet(@PathVariable Long id, ServletWebRequest request) {
+        if (notModified(request, id)) {
+            return null;
+        }
         return service.findById(id);
     }
 
+    // Écritures groupées (synchronisation) : un résultat par élément, dans l'ordre de la requête
+    @PostMapping("/api/batch")
+    @ResponseBody
+    public BatchResultDTO apiBatchCreate(@RequestBody List<ContactRequestDTO> contacts) {
+        return batchService.create(contacts);
+    }
+
+    // Champs absents ou null conservés, chaîne vide pour effacer un champ texte facultatif
+    @PatchMapping("/api/batch")
+    @ResponseBody
+    public BatchResultDTO apiBatchUpdate(@RequestBody List<ContactRequestDTO> contacts) {
+        return batchService.update(contacts);
+    }
+
+    @DeleteMapping("/api/batch")
+    @ResponseBody
+    public BatchResultDTO apiBatchDelete(@RequestBody List<Long> ids) {
+        return batchService.delete(ids);
+    }
+
+    @GetMapping("/api/cache/stats")
+    @ResponseBody
+    public CacheStatsDTO apiCacheStats() {
+        return contactCache.stats();
+    }
+
+    // Dernier archivage des contacts supprimés (lignes déplacées, lignes/s) ; 204 avant le premier passage
+    @GetMapping("/api/archive/stats")
+    @ResponseBody
+    public ResponseEntity<ArchiveRunDTO> apiArchiveStats() {
+        ArchiveRunDTO run = contactArchiver.getLastRun();
+        return run != null ? ResponseEntity.ok(run) : ResponseEntity.noContent().build();
+    }
+
+    // Restaure un contact archivé (409 si son email a été repris entre-temps)
+    @PostMapping("/api/archive/{id}/restore")
+    @ResponseBody
+    public ResponseEntity<ContactResponseDTO> apiRestore(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(contactArchiver.restore(id));
+        } catch (RestoreConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
     // ==================== CSV Export/Import ====================
 
+    /**
+     * Export complet : {@code format=csv|ndjson|vcf}, {@code gzip=true} pour une réponse compressée
+     * à la volée (Content-Encoding: gzip). {@code changes=true} (initialisation d'un miroir) : en-tête
+     * {@code X-Contact-Changes-Since}, point de reprise du journal des modifications, et lecture sur le primaire
+     * pour qu'un réplica en retard ne produise pas un fichier antérieur à ce point.
+     */
     @GetMapping("/export")
-    public ResponseEntity<byte[]> exportCsv() {
-        String csv = csvService.exportToCsv();
-        
-        // Ajouter BOM UTF-8 pour Excel (reconnaissance automatique UTF-8)
-        byte[] bom = new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
-        byte[] csvBytes = csv.getBytes(StandardCharsets.UTF_8);
-        byte[] bytes = new byte[bom.length + csvBytes.length];
-        System.arraycopy(bom, 0, bytes, 0, bom.length);
-        System.arraycopy(csvBytes, 0, bytes, bom.length, csvBytes.length);
-        
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) String format,
+                                                        @RequestParam(defaultValue = "false") boolean gzip,
+                                                        @RequestParam(defaultValue = "false") boolean changes,
+                                                        ServletWebRequest request) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        // Fichier inchangé depuis le dernier téléchargement : 304 sans relire la table
+        if (listNotModified(request, exportFormat.getExtension() + (gzip ? "-gz" : ""))) {
+            return null;
+        }
+
         HttpHeaders headers = new HttpHeaders();
-        // Utiliser text/csv avec charset UTF-8 explicite
-        headers.set("Content-Type", "text/csv; charset=UTF-8");
-        headers.setContentDispositionFormData("attachment", "contacts.csv");
-        headers.setCacheControl("no-cache, no-store, must-revalidate");
-        headers.setPragma("no-cache");
-        headers.setExpires(0);
-        
+        headers.set(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType());
+        headers.setContentDispositionFormData("attachment", "contacts." + exportFormat.getExtension());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        // Le fichier est écrit (et compressé) directement dans la réponse au fil de la lecture
+        StreamingResponseBody body = out -> csvService.export(out, exportFormat, gzip);
+        if (changes) {
+            // Lu avant l'export : toute modification absente du fichier porte un numéro supérieur
+            headers.set(CHANGES_SINCE_HEADER, Long.toString(changeLog.lastSeq()));
+            StreamingResponseBody export = body;
+            body = out -> {
+                ReadWriteRoutingDataSource.pinToPrimary();
+                try {
+                    export.writeTo(out);
+                } finally {
+                    ReadWriteRoutingDataSource.unpin();
+                }
+            };
+        }
+
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(bytes);
+                .body(body);
     }
 
     @PostMapping("/import")
-    public String importCsv(@RequestParam("file") MultipartFile file, RedirectAttributes redirectAttributes) {
+    public String importCsv(@RequestParam("file") MultipartFile file,
+                            @RequestParam(required = false) String duplicates,
+                            RedirectAttributes redirectAttributes) {
         try {
             if (file.isEmpty()) {
                 redirectAttributes.addFlashAttribute("errorMessage", "Veuillez sélectionner un fichier CSV");
@@ -166,9 +388,13 @@ public class ContactController {
                 return "redirect:/contacts";
             }
             
-            int count = csvService.importFromCsv(file);
-            redirectAttributes.addFlashAttribute("successMessage", count + " contact(s) importé(s) avec succès !");
+            ImportJobDTO job = importJobService.submit(file, DuplicatePolicy.fromParameter(duplicates));
+            redirectAttributes.addFlashAttribute("successMessage", "Import lancé, les contacts apparaîtront au fur et à mesure");
+            redirectAttributes.addFlashAttribute("importJobId", job.getId());
             
+        } catch (ImportCapacityException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+            redirectAttributes.addFlashAttribute("errorType", "error");
         } catch (IOException e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Erreur lors de l'import: " + e.getMessage());
         } catch (Exception e) {
@@ -177,4 +403,79 @@ public class ContactController {
         
         return "redirect:/contacts";
     }
+
+    // Import asynchrone via l'API : 202 + identifiant du job ; duplicates = skip | update | reject (défaut)
+    @PostMapping("/api/imports")
+    @ResponseBody
+    public ResponseEntity<ImportJobDTO> apiImport(@RequestParam("file") MultipartFile file,
+                                                  @RequestParam(required = false) String duplicates) throws IOException {
+        try {
+            ImportJobDTO job = importJobService.submit(file, DuplicatePolicy.fromParameter(duplicates));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/contacts/api/imports/" + job.getId()))
+                    .body(job);
+        } catch (ImportCapacityException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+
+    @GetMapping("/api/imports/{id}")
+    @ResponseBody
+    public ImportJobDTO apiImportStatus(@PathVariable String id) {
+        return importJobService.getJob(id);
+    }
+
+    // Rapport CSV des lignes écartées (row;reason;email;firstName;lastName)
+    @GetMapping("/api/imports/{id}/rejects")
+    public ResponseEntity<Resource> apiImportRejects(@PathVariable String id) {
+        Resource report = new FileSystemResource(importJobService.getRejectReport(id));
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-" + id + "-rejects.csv\"")
+                .body(report);
+    }
+
+    // ==================== Requêtes conditionnelles ====================
+
+    /**
+     * Valide If-None-Match / If-Modified-Since avec la date de modification du contact (cache ou clé primaire) ;
+     * vrai si une réponse 304 a été préparée. Sinon ETag, Last-Modified et Cache-Control sont posés
+     * pour la réponse complète, un contact introuvable poursuivant vers le 404 habituel.
+     */
+    private boolean notModified(ServletWebRequest request, Long id) {
+        LocalDateTime lastModified = service.findLastModified(id);
+        if (lastModified == null) {
+            return false;
+        }
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        String etag = etag(id + "-" + version(lastModified));
+        return request.checkNotModified(etag, lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    /**
+     * Listes et export : ETag seul, sur la version tenue par le journal des modifications (pas de COUNT ni
+     * de MAX sur la table). Pas de Last-Modified, une suppression pouvant rendre le contenu différent sans
+     * date plus récente.
+     */
+    private boolean listNotModified(ServletWebRequest request) {
+        return listNotModified(request, null);
+    }
+
+    // variant : format et encodage de l'export, deux représentations différentes n'ont pas le même ETag
+    private boolean listNotModified(ServletWebRequest request, String variant) {
+        String tag = "v" + Long.toString(service.findActiveVersion(), 36);
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        return request.checkNotModified(etag(variant != null ? tag + "-" + variant : tag));
+    }
+
+    // Précision de la colonne (microseconde) : deux modifications rapprochées donnent deux versions
+    private static String version(LocalDateTime lastModified) {
+        long micros = lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModified.getNano() / 1_000;
+        return Long.toString(micros, 36);
+    }
+
+    // Suffixe propre au démarrage : un déploiement (format JSON, gabarits) invalide les versions en cache
+    private static String etag(String version) {
+        return "\"" + version + "-" + DEPLOYMENT_VERSION + "\"";
+    }
 }
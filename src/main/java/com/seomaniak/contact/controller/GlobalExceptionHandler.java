@@ -1,14 +1,29 @@
 package com.seomaniak.contact.controller;
 
+import com.seomaniak.contact.exception.ChangeFeedExpiredException;
+import com.seomaniak.contact.exception.ChangeStreamFullException;
+import com.seomaniak.contact.exception.DatabaseBusyException;
+import com.seomaniak.contact.exception.InvalidBatchException;
+import com.seomaniak.contact.exception.InvalidCursorException;
+import com.seomaniak.contact.exception.InvalidExportFormatException;
+import com.seomaniak.contact.exception.InvalidFieldException;
 import com.seomaniak.contact.exception.ResourceNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.Map;
+
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -19,6 +34,38 @@ public class GlobalExceptionHandler {
         return "error/404";
     }
 
+    @ExceptionHandler({InvalidCursorException.class, InvalidFieldException.class, InvalidBatchException.class,
+            InvalidExportFormatException.class})
+    public ResponseEntity<Map<String, String>> handleBadApiRequest(RuntimeException ex) {
+        return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+    }
+
+    // Point de reprise du journal des modifications purgé : le miroir repart d'un export
+    @ExceptionHandler(ChangeFeedExpiredException.class)
+    public ResponseEntity<Map<String, String>> handleChangeFeedExpired(ChangeFeedExpiredException ex) {
+        return ResponseEntity.status(HttpStatus.GONE).body(Map.of("error", ex.getMessage()));
+    }
+
+    // Abonnés au flux SSE au complet : indépendant de la charge de la base, nouvel essai plus espacé
+    @ExceptionHandler(ChangeStreamFullException.class)
+    public ResponseEntity<Map<String, String>> handleChangeStreamFull(ChangeStreamFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    // Limiteur d'accès base saturé : JSON pour l'API, page d'erreur pour l'interface
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ModelAndView handleDatabaseBusy(DatabaseBusyException ex, HttpServletRequest request,
+                                           HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        ModelAndView modelAndView = request.getRequestURI().contains("/api/")
+                ? new ModelAndView(new MappingJackson2JsonView(), Map.of("error", ex.getMessage()))
+                : new ModelAndView("error/503", Map.of("error", ex.getMessage()));
+        modelAndView.setStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        return modelAndView;
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public String handleDuplicateEmail(DataIntegrityViolationException ex, RedirectAttributes redirectAttributes) {
         String message = "Cet email existe déjà. Veuillez utiliser une adresse email différente.";
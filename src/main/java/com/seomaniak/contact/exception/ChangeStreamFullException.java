@@ -0,0 +1,7 @@
+package com.seomaniak.contact.exception;
+
+public class ChangeStreamFullException extends RuntimeException {
+    public ChangeStreamFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.seomaniak.contact.exception;
+
+public class DatabaseBusyException extends RuntimeException {
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.seomaniak.contact.exception;
+
+public class ImportCapacityException extends RuntimeException {
+    public ImportCapacityException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.seomaniak.contact.exception;
+
+public class InvalidBatchException extends RuntimeException {
+    public InvalidBatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.seomaniak.contact.exception;
+
+public class InvalidExportFormatException extends RuntimeException {
+    public InvalidExportFormatException(String message) {
+        super(message);
+    }
+}
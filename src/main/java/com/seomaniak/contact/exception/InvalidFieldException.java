@@ -0,0 +1,7 @@
+package com.seomaniak.contact.exception;
+
+public class InvalidFieldException extends RuntimeException {
+    public InvalidFieldException(String message) {
+        super(message);
+    }
+}
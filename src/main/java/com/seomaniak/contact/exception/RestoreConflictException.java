@@ -0,0 +1,7 @@
+package com.seomaniak.contact.exception;
+
+public class RestoreConflictException extends RuntimeException {
+    public RestoreConflictException(String message) {
+        super(message);
+    }
+}
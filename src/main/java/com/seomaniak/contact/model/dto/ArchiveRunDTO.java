@@ -0,0 +1,21 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchiveRunDTO {
+
+    private LocalDateTime startedAt;
+    // Contacts supprimés avant cette date : archivables
+    private LocalDateTime cutoff;
+    private long rowsMoved;
+    private int batches;
+    private long durationMs;
+    private double rowsPerSecond;
+}
@@ -0,0 +1,19 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchItemResultDTO {
+
+    // Position de l'élément dans la requête
+    private int index;
+    private Long id;
+    private String status;
+    private List<String> errors;
+}
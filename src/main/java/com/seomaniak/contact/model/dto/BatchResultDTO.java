@@ -0,0 +1,18 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchResultDTO {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResultDTO> items;
+}
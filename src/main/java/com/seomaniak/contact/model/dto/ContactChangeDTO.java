@@ -0,0 +1,23 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrée du journal des modifications ; {@code contact} porte l'état courant du contact,
+ * null s'il a été supprimé depuis
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContactChangeDTO {
+
+    private long seq;
+    private Long contactId;
+    private String operation;
+    private LocalDateTime changedAt;
+    private ContactResponseDTO contact;
+}
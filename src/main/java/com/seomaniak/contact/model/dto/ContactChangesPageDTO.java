@@ -0,0 +1,20 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Lot du journal des modifications ; {@code nextSince} se repasse tel quel en {@code since=}
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContactChangesPageDTO {
+
+    private List<ContactChangeDTO> changes;
+    private long nextSince;
+    private boolean hasMore;
+}
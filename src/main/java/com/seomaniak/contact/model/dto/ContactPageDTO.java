@@ -0,0 +1,28 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Page de liste lue sans COUNT (LIMIT n+1) : {@code hasNext} est toujours exact, le total peut être
+ * estimé ({@code totalExact = false}). Noms de champs repris de la sérialisation de {@code Page}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContactPageDTO<T> {
+
+    private List<T> content;
+    private int number;
+    private int size;
+    private int numberOfElements;
+    private boolean first;
+    private boolean last;
+    private boolean hasNext;
+    private long totalElements;
+    private int totalPages;
+    private boolean totalExact;
+}
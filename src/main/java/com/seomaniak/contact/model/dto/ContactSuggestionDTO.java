@@ -0,0 +1,21 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+/**
+ * Suggestion de l'autocomplétion : de quoi afficher et identifier le contact, rien de plus.
+ * Construite directement par la requête JPQL : l'ordre des champs est celui du constructeur.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContactSuggestionDTO {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String company;
+}
@@ -0,0 +1,28 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+/**
+ * Vue allégée d'un contact pour les listes (sans notes, date de naissance ni horodatages).
+ * Construite directement par la requête JPQL : l'ordre des champs est celui du constructeur.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContactSummaryDTO {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private String company;
+    private String jobTitle;
+    private String address;
+    private String city;
+    private String postalCode;
+    private String country;
+    private String website;
+}
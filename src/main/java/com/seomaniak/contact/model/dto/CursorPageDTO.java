@@ -0,0 +1,17 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
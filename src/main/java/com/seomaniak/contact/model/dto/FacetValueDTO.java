@@ -0,0 +1,14 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetValueDTO {
+
+    private String value;
+    private long count;
+}
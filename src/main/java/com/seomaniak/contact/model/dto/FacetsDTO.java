@@ -0,0 +1,20 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Valeurs les plus fréquentes de chaque facette pour la recherche et les filtres courants
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetsDTO {
+
+    private List<FacetValueDTO> city;
+    private List<FacetValueDTO> country;
+    private List<FacetValueDTO> company;
+}
@@ -0,0 +1,19 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportChunkDTO {
+
+    private int chunkNumber;
+    private int rows;
+    private int updated;
+    private int skipped;
+    private int rejected;
+    private long durationMs;
+    private double rowsPerSecond;
+}
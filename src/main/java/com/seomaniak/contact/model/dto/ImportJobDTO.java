@@ -0,0 +1,33 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJobDTO {
+
+    private String id;
+    private String fileName;
+    private String status;
+    private long totalBytes;
+    private long bytesRead;
+    private long rowsParsed;
+    private String duplicatePolicy;
+    private long rowsInserted;
+    private long rowsUpdated;
+    private long rowsSkipped;
+    private long rowsRejected;
+    private String rejectsUrl;
+    private double rowsPerSecond;
+    private Long etaSeconds;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String errorMessage;
+    private ImportReportDTO report;
+}
@@ -0,0 +1,24 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportReportDTO {
+
+    private long rowsParsed;
+    private String duplicatePolicy;
+    private long rowsInserted;
+    private long rowsUpdated;
+    private long rowsSkipped;
+    private long rowsRejected;
+    private long durationMs;
+    private double rowsPerSecond;
+    private List<ImportChunkDTO> chunks;
+    private List<ImportStageDTO> stages;
+}
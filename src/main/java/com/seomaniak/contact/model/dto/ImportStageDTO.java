@@ -0,0 +1,19 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportStageDTO {
+
+    private String stage;
+    private int threads;
+    private long rows;
+    private long busyMs;
+    private long idleMs;
+    private long blockedMs;
+    private double rowsPerSecond;
+}
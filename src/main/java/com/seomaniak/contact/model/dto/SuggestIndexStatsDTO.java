@@ -0,0 +1,18 @@
+package com.seomaniak.contact.model.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestIndexStatsDTO {
+
+    private boolean ready;
+    private long contacts;
+    private long keys;
+    private long pendingChanges;
+    private long estimatedBytes;
+    private long lastBuildMs;
+}
@@ -17,8 +17,10 @@ import java.time.LocalDateTime;
 @Builder
 public class Contact {
 
+    // Séquence avec allocation par blocs : permet le batching JDBC des INSERT (impossible avec IDENTITY)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contacts_seq")
+    @SequenceGenerator(name = "contacts_seq", sequenceName = "contacts_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -1,28 +1,139 @@
 package com.seomaniak.contact.repository;
 
+import com.seomaniak.contact.model.dto.ContactSuggestionDTO;
+import com.seomaniak.contact.model.dto.ContactSummaryDTO;
 import com.seomaniak.contact.model.entity.Contact;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ContactRepository extends JpaRepository<Contact, Long> {
+public interface ContactRepository extends JpaRepository<Contact, Long>, ContactRepositoryCustom {
+
+    // Motifs de recherche échappés avec ce caractère (% et _ tapés par l'utilisateur pris littéralement)
+    char LIKE_ESCAPE = '!';
+    String ESCAPE = " ESCAPE '" + LIKE_ESCAPE + "'";
+
+    String SEARCH_MATCH = "LOWER(c.firstName) LIKE :pattern" + ESCAPE + " OR LOWER(c.lastName) LIKE :pattern" + ESCAPE +
+            " OR LOWER(c.email) LIKE :pattern" + ESCAPE + " OR LOWER(c.company) LIKE :pattern" + ESCAPE +
+            " OR LOWER(c.city) LIKE :pattern" + ESCAPE;
+
+    // Filtres de facettes, ignorés quand le paramètre est null
+    String FACET_FILTER = " AND (:city IS NULL OR c.city = :city) AND (:country IS NULL OR c.country = :country)" +
+            " AND (:company IS NULL OR c.company = :company)";
+
+    // Listes en Slice (LIMIT n+1) : le total vient de ContactCounter, jamais d'un COUNT par page
+    @Query("SELECT c.id FROM Contact c WHERE c.isDeleted = false")
+    Slice<Long> findActiveIds(Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Contact c WHERE c.isDeleted = false")
+    long countActive();
+
+    // Table non vide (contacts supprimés compris) : une ligne lue au lieu d'un COUNT
+    boolean existsByIdIsNotNull();
+
+    /**
+     * Recherche portable (H2) classée par pertinence : préfixe du nom/prénom,
+     * puis préfixe de l'email/société, puis simple correspondance
+     */
+    @Query(value = "SELECT c.id FROM Contact c WHERE c.isDeleted = false AND (" + SEARCH_MATCH + ")" + FACET_FILTER +
+                   " ORDER BY CASE WHEN LOWER(c.lastName) LIKE :prefix" + ESCAPE +
+                   " OR LOWER(c.firstName) LIKE :prefix" + ESCAPE + " THEN 0" +
+                   " WHEN LOWER(c.email) LIKE :prefix" + ESCAPE + " OR LOWER(c.company) LIKE :prefix" + ESCAPE +
+                   " THEN 1 ELSE 2 END, " +
+                   "c.lastName, c.id")
+    Slice<Long> searchActiveIds(@Param("pattern") String pattern, @Param("prefix") String prefix,
+                                @Param("city") String city, @Param("country") String country,
+                                @Param("company") String company, Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Contact c WHERE c.isDeleted = false AND (" + SEARCH_MATCH + ")" + FACET_FILTER)
+    long countSearchActive(@Param("pattern") String pattern, @Param("city") String city,
+                           @Param("country") String country, @Param("company") String company);
+
+    // Projection pour les listes : seules les colonnes affichées sont lues, aucune entité managée
+    @Query("SELECT new com.seomaniak.contact.model.dto.ContactSummaryDTO(" +
+           "c.id, c.firstName, c.lastName, c.email, c.phone, c.company, c.jobTitle, " +
+           "c.address, c.city, c.postalCode, c.country, c.website) " +
+           "FROM Contact c WHERE c.id IN :ids")
+    List<ContactSummaryDTO> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // Parcours par clé (keyset) : pas d'OFFSET ni de COUNT, coût constant quelle que soit la page
+    @Query("SELECT c FROM Contact c WHERE c.isDeleted = false ORDER BY c.lastName, c.id")
+    List<Contact> findActiveByLastName(Pageable limit);
+
+    @Query("SELECT c FROM Contact c WHERE c.isDeleted = false " +
+           "AND (c.lastName, c.id) > (:lastName, :id) ORDER BY c.lastName, c.id")
+    List<Contact> findActiveByLastNameAfter(@Param("lastName") String lastName, @Param("id") Long id, Pageable limit);
+
+    @Query("SELECT c FROM Contact c WHERE c.isDeleted = false ORDER BY c.updatedAt, c.id")
+    List<Contact> findActiveByUpdatedAt(Pageable limit);
 
     @Query("SELECT c FROM Contact c WHERE c.isDeleted = false " +
-           "AND (:search IS NULL OR :search = '' OR " +
-           "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(c.email) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Contact> findAllActiveWithSearch(@Param("search") String search, Pageable pageable);
+           "AND (c.updatedAt, c.id) > (:updatedAt, :id) ORDER BY c.updatedAt, c.id")
+    List<Contact> findActiveByUpdatedAtAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Pageable limit);
+
+    // Résolution des doublons à l'import : une requête par lot, emails comparés en minuscules
+    @Query("SELECT LOWER(c.email) FROM Contact c WHERE LOWER(c.email) IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT c FROM Contact c WHERE LOWER(c.email) IN :emails")
+    List<Contact> findByEmailsIgnoreCase(@Param("emails") Collection<String> emails);
+
+    // Opérations groupées de l'API batch : une requête IN par lot
+    @Query("SELECT c FROM Contact c WHERE c.id IN :ids AND c.isDeleted = false")
+    List<Contact> findActiveByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.id FROM Contact c WHERE c.id IN :ids AND c.isDeleted = false")
+    List<Long> findActiveIdsIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Contact c SET c.isDeleted = true, c.updatedAt = :now WHERE c.id IN :ids AND c.isDeleted = false")
+    int softDeleteAll(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 
     @Query("SELECT c FROM Contact c WHERE c.id = :id AND c.isDeleted = false")
     java.util.Optional<Contact> findByIdAndNotDeleted(@Param("id") Long id);
 
-    List<Contact> findByIsDeletedFalse();
+    @Modifying
+    @Query("UPDATE Contact c SET c.isDeleted = true, c.updatedAt = :now WHERE c.id = :id AND c.isDeleted = false")
+    int softDelete(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Validation des requêtes conditionnelles (ETag) d'un contact : clé primaire, sans hydrater d'entité
+    @Query("SELECT COALESCE(c.updatedAt, c.createdAt) FROM Contact c WHERE c.id = :id AND c.isDeleted = false")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+
+    // Index d'autocomplétion : chargé en flux au démarrage, puis complété après chaque lot d'import
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.seomaniak.contact.model.dto.ContactSuggestionDTO(" +
+           "c.id, c.firstName, c.lastName, c.email, c.company) FROM Contact c WHERE c.isDeleted = false")
+    Stream<ContactSuggestionDTO> streamSuggestions();
+
+    @Query("SELECT new com.seomaniak.contact.model.dto.ContactSuggestionDTO(" +
+           "c.id, c.firstName, c.lastName, c.email, c.company) " +
+           "FROM Contact c WHERE LOWER(c.email) IN :emails AND c.isDeleted = false")
+    List<ContactSuggestionDTO> findSuggestionsByEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Curseur en lecture seule sur les contacts actifs (export en streaming).
+     * Doit être consommé dans une transaction et fermé après usage.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Contact c WHERE c.isDeleted = false ORDER BY c.id")
+    Stream<Contact> streamAllActive();
 }
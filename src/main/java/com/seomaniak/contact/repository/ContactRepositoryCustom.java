@@ -0,0 +1,22 @@
+package com.seomaniak.contact.repository;
+
+import com.seomaniak.contact.model.dto.FacetValueDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ContactRepositoryCustom {
+
+    /**
+     * Lit uniquement les colonnes demandées (noms de propriétés de Contact) pour les IDs donnés
+     */
+    List<Map<String, Object>> findFieldsByIds(Collection<Long> ids, List<String> fields);
+
+    /**
+     * Valeurs les plus fréquentes de la propriété {@code field} parmi les contacts actifs correspondant
+     * au motif LIKE et aux filtres non null (recherche portable, pendant du moteur PostgreSQL)
+     */
+    List<FacetValueDTO> findFacetCounts(String field, String pattern, String city, String country, String company,
+                                        int limit);
+}
@@ -0,0 +1,88 @@
+package com.seomaniak.contact.repository;
+
+import com.seomaniak.contact.model.dto.FacetValueDTO;
+import com.seomaniak.contact.model.entity.Contact;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ContactRepositoryImpl implements ContactRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFieldsByIds(Collection<Long> ids, List<String> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Contact> root = query.from(Contact.class);
+
+        List<Selection<?>> selections = fields.stream()
+                .<Selection<?>>map(field -> root.get(field).alias(field))
+                .toList();
+        query.multiselect(selections).where(root.get("id").in(ids));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    fields.forEach(field -> row.put(field, tuple.get(field)));
+                    return row;
+                })
+                .toList();
+    }
+
+    @Override
+    public List<FacetValueDTO> findFacetCounts(String field, String pattern, String city, String country,
+                                               String company, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Contact> root = query.from(Contact.class);
+        Expression<String> value = root.get(field);
+        Expression<Long> count = cb.count(root);
+
+        // Même correspondance que ContactRepository.SEARCH_MATCH
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.isFalse(root.get("isDeleted")));
+        where.add(cb.or(
+                cb.like(cb.lower(root.get("firstName")), pattern, ContactRepository.LIKE_ESCAPE),
+                cb.like(cb.lower(root.get("lastName")), pattern, ContactRepository.LIKE_ESCAPE),
+                cb.like(cb.lower(root.get("email")), pattern, ContactRepository.LIKE_ESCAPE),
+                cb.like(cb.lower(root.get("company")), pattern, ContactRepository.LIKE_ESCAPE),
+                cb.like(cb.lower(root.get("city")), pattern, ContactRepository.LIKE_ESCAPE)));
+        where.add(cb.isNotNull(value));
+        where.add(cb.notEqual(cb.trim(value), ""));
+        if (city != null) {
+            where.add(cb.equal(root.get("city"), city));
+        }
+        if (country != null) {
+            where.add(cb.equal(root.get("country"), country));
+        }
+        if (company != null) {
+            where.add(cb.equal(root.get("company"), company));
+        }
+
+        query.multiselect(value, count)
+                .where(where.toArray(Predicate[]::new))
+                .groupBy(value)
+                .orderBy(cb.desc(count), cb.asc(value));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList().stream()
+                .map(tuple -> new FacetValueDTO(tuple.get(0, String.class), tuple.get(1, Long.class)))
+                .toList();
+    }
+}
@@ -0,0 +1,10 @@
+package com.seomaniak.contact.service;
+
+/**
+ * Nature d'une entrée du journal des modifications ; une restauration d'archive compte comme une création
+ */
+public enum ChangeOperation {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,272 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.exception.ResourceNotFoundException;
+import com.seomaniak.contact.exception.RestoreConflictException;
+import com.seomaniak.contact.model.dto.ArchiveRunDTO;
+import com.seomaniak.contact.model.dto.ContactResponseDTO;
+import com.seomaniak.contact.model.entity.Contact;
+import com.seomaniak.contact.repository.ContactRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Déplace les contacts supprimés depuis plus de {@code contact.archive.retention} vers
+ * {@code contacts_archive} : la table chaude (listes, recherche, export, unicité des emails)
+ * ne garde que les contacts actifs et les suppressions récentes.
+ * <p>
+ * Lots de {@code batch-size} lignes, chacun dans sa propre transaction courte (SELECT ... FOR UPDATE,
+ * INSERT ... SELECT, DELETE), parcourus par clé (updated_at, id) dans l'ordre des suppressions, avec une
+ * pause de {@code pause} entre deux lots pour laisser la place au trafic. Un contact archivé peut être
+ * restauré par son ID tant que son email n'a pas été repris.
+ */
+@Slf4j
+@Service
+public class ContactArchiver {
+
+    private static final String DATA_COLUMNS = "id, first_name, last_name, email, phone, address, city, "
+            + "postal_code, country, company, job_title, birthday, notes, website, created_at";
+
+    private static final String BATCH_SQL = "SELECT id, updated_at FROM contacts"
+            + " WHERE is_deleted = true AND updated_at < :cutoff%s ORDER BY updated_at, id LIMIT :limit FOR UPDATE";
+    private static final String FIRST_BATCH_SQL = BATCH_SQL.formatted("");
+    private static final String NEXT_BATCH_SQL = BATCH_SQL.formatted(" AND (updated_at, id) > (:afterUpdatedAt, :afterId)");
+
+    private static final String ARCHIVE_SQL = "INSERT INTO contacts_archive (" + DATA_COLUMNS + ", updated_at, archived_at)"
+            + " SELECT " + DATA_COLUMNS + ", updated_at, :now FROM contacts WHERE id IN (:ids)";
+    private static final String DELETE_SQL = "DELETE FROM contacts WHERE id IN (:ids)";
+
+    private static final String RESTORE_SQL = "INSERT INTO contacts (" + DATA_COLUMNS + ", updated_at, is_deleted)"
+            + " SELECT " + DATA_COLUMNS + ", :now, false FROM contacts_archive WHERE id = :id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ContactRepository repository;
+    private final ContactCounter counter;
+    private final ContactSuggestIndex suggestIndex;
+    private final ContactFacets facets;
+    private final ContactChangeLog changeLog;
+    private final boolean enabled;
+    private final Duration retention;
+    private final Duration interval;
+    private final Duration initialDelay;
+    private final int batchSize;
+    private final Duration pause;
+
+    private final ScheduledExecutorService scheduler;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final AtomicReference<ArchiveRunDTO> lastRun = new AtomicReference<>();
+    private final Counter rowsMoved;
+    private final AtomicLong rowsPerSecond = new AtomicLong();
+
+    public ContactArchiver(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           ContactRepository repository, ContactCounter counter,
+                           ContactSuggestIndex suggestIndex, ContactFacets facets, ContactChangeLog changeLog,
+                           MeterRegistry registry,
+                           @Value("${contact.archive.enabled:true}") boolean enabled,
+                           @Value("${contact.archive.retention:30d}") Duration retention,
+                           @Value("${contact.archive.interval:1h}") Duration interval,
+                           @Value("${contact.archive.initial-delay:5m}") Duration initialDelay,
+                           @Value("${contact.archive.batch-size:500}") int batchSize,
+                           @Value("${contact.archive.pause:200ms}") Duration pause) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.repository = repository;
+        this.counter = counter;
+        this.suggestIndex = suggestIndex;
+        this.facets = facets;
+        this.changeLog = changeLog;
+        this.enabled = enabled;
+        this.retention = retention;
+        this.interval = interval;
+        this.initialDelay = initialDelay;
+        this.batchSize = Math.max(1, batchSize);
+        this.pause = pause;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("contact-archive").daemon().factory());
+
+        this.rowsMoved = Counter.builder("contact.archive.rows")
+                .description("Contacts supprimés déplacés vers contacts_archive")
+                .register(registry);
+        Gauge.builder("contact.archive.rows.per.second", rowsPerSecond, AtomicLong::get)
+                .description("Débit du dernier archivage")
+                .register(registry);
+    }
+
+    // Planifié une fois l'application prête, hors du chemin de démarrage
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedule() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::archiveQuietly,
+                    initialDelay.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Archive tous les contacts supprimés avant maintenant moins la rétention ; un seul archivage à la fois
+     * (un appel concurrent renvoie le dernier rapport sans rien faire)
+     */
+    public ArchiveRunDTO archive() {
+        if (!runLock.tryLock()) {
+            return lastRun.get();
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            LocalDateTime cutoff = startedAt.minus(retention);
+            long start = System.nanoTime();
+            long moved = 0;
+            int batches = 0;
+
+            Position after = null;
+            while (!Thread.currentThread().isInterrupted()) {
+                Batch batch = moveBatch(cutoff, after);
+                if (batch.rows() == 0) {
+                    break;
+                }
+                moved += batch.rows();
+                batches++;
+                rowsMoved.increment(batch.rows());
+                after = batch.last();
+                if (batch.rows() < batchSize || !pause()) {
+                    break;
+                }
+            }
+
+            long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+            double perSecond = moved * 1_000_000_000d / elapsedNanos;
+            rowsPerSecond.set(Math.round(perSecond));
+            ArchiveRunDTO run = ArchiveRunDTO.builder()
+                    .startedAt(startedAt)
+                    .cutoff(cutoff)
+                    .rowsMoved(moved)
+                    .batches(batches)
+                    .durationMs(elapsedNanos / 1_000_000)
+                    .rowsPerSecond(perSecond)
+                    .build();
+            lastRun.set(run);
+            if (moved > 0) {
+                log.info("Archivage : {} contact(s) supprimé(s) déplacé(s) en {} lot(s), {} lignes/s",
+                        moved, batches, String.format(Locale.ROOT, "%.0f", perSecond));
+            }
+            return run;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Dernier archivage terminé, ou null si aucun n'a encore eu lieu
+     */
+    public ArchiveRunDTO getLastRun() {
+        return lastRun.get();
+    }
+
+    /**
+     * Remet un contact archivé dans la table des contacts, actif ; refusé si son email a été repris entre-temps
+     */
+    public ContactResponseDTO restore(Long id) {
+        try {
+            return transactionTemplate.execute(status -> {
+                MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+                List<String> emails = jdbcTemplate.queryForList(
+                        "SELECT email FROM contacts_archive WHERE id = :id FOR UPDATE", params, String.class);
+                if (emails.isEmpty()) {
+                    throw new ResourceNotFoundException("Contact archivé non trouvé avec l'ID : " + id);
+                }
+                String email = emails.get(0);
+                if (!repository.findExistingEmails(List.of(email.toLowerCase(Locale.ROOT))).isEmpty()) {
+                    throw new RestoreConflictException("Un contact utilise déjà l'email : " + email);
+                }
+
+                jdbcTemplate.update(RESTORE_SQL, params.addValue("now", LocalDateTime.now()));
+                jdbcTemplate.update("DELETE FROM contacts_archive WHERE id = :id", params);
+                counter.adjust(1);
+                Contact restored = repository.findById(id).orElseThrow();
+                suggestIndex.add(restored);
+                facets.added(List.of(ContactFacets.Values.of(restored)));
+                changeLog.record(ChangeOperation.CREATED, id);
+                return ContactService.toResponseDTO(restored);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Email repris par une écriture concurrente
+            throw new RestoreConflictException("Un contact utilise déjà cet email");
+        }
+    }
+
+    // Un lot : lignes verrouillées le temps de la copie et de la suppression, rien d'autre
+    private Batch moveBatch(LocalDateTime cutoff, Position after) {
+        return transactionTemplate.execute(status -> {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("cutoff", cutoff)
+                    .addValue("limit", batchSize);
+            if (after != null) {
+                params.addValue("afterUpdatedAt", after.updatedAt()).addValue("afterId", after.id());
+            }
+            List<Position> rows = jdbcTemplate.query(after == null ? FIRST_BATCH_SQL : NEXT_BATCH_SQL, params,
+                    (rs, rowNum) -> new Position(rs.getObject("updated_at", LocalDateTime.class), rs.getLong("id")));
+            if (rows.isEmpty()) {
+                return new Batch(0, after);
+            }
+
+            MapSqlParameterSource ids = new MapSqlParameterSource()
+                    .addValue("ids", rows.stream().map(Position::id).toList())
+                    .addValue("now", LocalDateTime.now());
+            jdbcTemplate.update(ARCHIVE_SQL, ids);
+            jdbcTemplate.update(DELETE_SQL, ids);
+            return new Batch(rows.size(), rows.get(rows.size() - 1));
+        });
+    }
+
+    // false si le thread a été interrompu (arrêt de l'application)
+    private boolean pause() {
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            // Une exception non rattrapée annulerait les exécutions suivantes
+            log.warn("Archivage des contacts supprimés en échec : {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private record Position(LocalDateTime updatedAt, long id) {
+    }
+
+    private record Batch(int rows, Position last) {
+    }
+}
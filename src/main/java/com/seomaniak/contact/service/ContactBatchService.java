@@ -0,0 +1,375 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.exception.InvalidBatchException;
+import com.seomaniak.contact.model.dto.BatchItemResultDTO;
+import com.seomaniak.contact.model.dto.BatchResultDTO;
+import com.seomaniak.contact.model.dto.ContactRequestDTO;
+import com.seomaniak.contact.model.entity.Contact;
+import com.seomaniak.contact.repository.ContactRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Création, mise à jour et suppression de nombreux contacts en un appel (synchronisation CRM).
+ * <p>
+ * Les éléments sont traités par lots de {@code contact.batch.chunk-size}, un lot par transaction :
+ * les cibles et les emails existants sont lus en une requête IN, les écritures partent en batch JDBC.
+ * Chaque élément reçoit son propre résultat ; un élément invalide n'empêche pas les autres d'être appliqués,
+ * et un lot en échec (quelle qu'en soit la cause) n'empêche pas les lots suivants.
+ */
+@Slf4j
+@Service
+@Timed("contact.service")
+public class ContactBatchService {
+
+    public enum ItemStatus { CREATED, UPDATED, DELETED, INVALID, NOT_FOUND, CONFLICT, FAILED }
+
+    private final ContactRepository repository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ContactCache contactCache;
+    private final ContactCounter counter;
+    private final ContactSuggestIndex suggestIndex;
+    private final ContactFacets facets;
+    private final ContactChangeLog changeLog;
+    private final int maxItems;
+    private final int chunkSize;
+
+    public ContactBatchService(ContactRepository repository, EntityManager entityManager,
+                               PlatformTransactionManager transactionManager, Validator validator,
+                               ContactCache contactCache, ContactCounter counter,
+                               ContactSuggestIndex suggestIndex, ContactFacets facets, ContactChangeLog changeLog,
+                               @Value("${contact.batch.max-items:5000}") int maxItems,
+                               @Value("${contact.batch.chunk-size:500}") int chunkSize) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.contactCache = contactCache;
+        this.counter = counter;
+        this.suggestIndex = suggestIndex;
+        this.facets = facets;
+        this.changeLog = changeLog;
+        this.maxItems = maxItems;
+        this.chunkSize = chunkSize;
+    }
+
+    public BatchResultDTO create(List<ContactRequestDTO> items) {
+        BatchItemResultDTO[] results = new BatchItemResultDTO[checkSize(items)];
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            createChunk(items, from, Math.min(from + chunkSize, items.size()), results);
+        }
+        return summarize(results);
+    }
+
+    /**
+     * Mise à jour partielle : seuls les champs renseignés remplacent les valeurs existantes,
+     * le contact obtenu étant validé comme dans le formulaire.
+     * <p>
+     * Un champ absent ou {@code null} est conservé : pour effacer un champ texte facultatif,
+     * il faut envoyer une chaîne vide. La date de naissance ne s'efface que par le formulaire.
+     */
+    public BatchResultDTO update(List<ContactRequestDTO> items) {
+        BatchItemResultDTO[] results = new BatchItemResultDTO[checkSize(items)];
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            updateChunk(items, from, Math.min(from + chunkSize, items.size()), results);
+        }
+        return summarize(results);
+    }
+
+    public BatchResultDTO delete(List<Long> ids) {
+        BatchItemResultDTO[] results = new BatchItemResultDTO[checkSize(ids)];
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            deleteChunk(ids, from, Math.min(from + chunkSize, ids.size()), results);
+        }
+        return summarize(results);
+    }
+
+    private void createChunk(List<ContactRequestDTO> items, int from, int to, BatchItemResultDTO[] results) {
+        Map<String, Integer> byEmail = new LinkedHashMap<>();
+        for (int i = from; i < to; i++) {
+            ContactRequestDTO dto = items.get(i);
+            List<String> errors = validate(dto);
+            if (!errors.isEmpty()) {
+                results[i] = failure(i, null, ItemStatus.INVALID, errors);
+            } else if (byEmail.putIfAbsent(normalize(dto.getEmail()), i) != null) {
+                results[i] = failure(i, null, ItemStatus.CONFLICT, List.of("Email en double dans le lot"));
+            }
+        }
+        if (byEmail.isEmpty()) {
+            return;
+        }
+
+        try {
+            Map<Integer, Contact> created = transactionTemplate.execute(status -> {
+                Set<String> existing = new HashSet<>(repository.findExistingEmails(byEmail.keySet()));
+                Map<Integer, Contact> persisted = new LinkedHashMap<>();
+                for (Map.Entry<String, Integer> entry : byEmail.entrySet()) {
+                    int index = entry.getValue();
+                    if (existing.contains(entry.getKey())) {
+                        results[index] = failure(index, null, ItemStatus.CONFLICT, List.of("Cet email existe déjà"));
+                        continue;
+                    }
+                    Contact contact = toEntity(items.get(index));
+                    entityManager.persist(contact);
+                    persisted.put(index, contact);
+                }
+                facets.added(persisted.values().stream().map(ContactFacets.Values::of).toList());
+                changeLog.record(ChangeOperation.CREATED, persisted.values().stream().map(Contact::getId).toList());
+                suggestIndex.add(persisted.values().stream().map(ContactSuggestIndex::toSuggestion).toList());
+                entityManager.flush();
+                entityManager.clear();
+                return persisted;
+            });
+            created.forEach((index, contact) -> results[index] = success(index, contact.getId(), ItemStatus.CREATED));
+            counter.adjust(created.size());
+        } catch (RuntimeException e) {
+            failPending(byEmail.values(), results, e);
+        }
+    }
+
+    private void updateChunk(List<ContactRequestDTO> items, int from, int to, BatchItemResultDTO[] results) {
+        Map<Long, Integer> byId = new LinkedHashMap<>();
+        for (int i = from; i < to; i++) {
+            ContactRequestDTO dto = items.get(i);
+            if (dto == null || dto.getId() == null) {
+                results[i] = failure(i, null, ItemStatus.INVALID, List.of("id: obligatoire"));
+            } else if (byId.putIfAbsent(dto.getId(), i) != null) {
+                results[i] = failure(i, dto.getId(), ItemStatus.CONFLICT, List.of("ID en double dans le lot"));
+            }
+        }
+        if (byId.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Long> updated = transactionTemplate.execute(status -> {
+                Map<Long, Contact> targets = repository.findActiveByIdIn(byId.keySet()).stream()
+                        .collect(Collectors.toMap(Contact::getId, Function.identity()));
+
+                // Contenu final de chaque contact, validé avant toute écriture
+                Map<Long, ContactRequestDTO> merged = new LinkedHashMap<>();
+                Map<String, Long> newEmails = new HashMap<>();
+                for (Map.Entry<Long, Integer> entry : byId.entrySet()) {
+                    Long id = entry.getKey();
+                    int index = entry.getValue();
+                    Contact target = targets.get(id);
+                    if (target == null) {
+                        results[index] = failure(index, id, ItemStatus.NOT_FOUND, List.of("Contact non trouvé"));
+                        continue;
+                    }
+                    ContactRequestDTO dto = merge(target, items.get(index));
+                    List<String> errors = validate(dto);
+                    if (!errors.isEmpty()) {
+                        results[index] = failure(index, id, ItemStatus.INVALID, errors);
+                        continue;
+                    }
+                    String email = normalize(dto.getEmail());
+                    if (!email.equals(normalize(target.getEmail())) && newEmails.putIfAbsent(email, id) != null) {
+                        results[index] = failure(index, id, ItemStatus.CONFLICT, List.of("Email en double dans le lot"));
+                        continue;
+                    }
+                    merged.put(id, dto);
+                }
+
+                // Emails modifiés déjà portés par un autre contact : une seule requête pour le lot
+                if (!newEmails.isEmpty()) {
+                    for (Contact owner : repository.findByEmailsIgnoreCase(newEmails.keySet())) {
+                        Long id = newEmails.get(normalize(owner.getEmail()));
+                        if (id != null && !id.equals(owner.getId()) && merged.remove(id) != null) {
+                            int index = byId.get(id);
+                            results[index] = failure(index, id, ItemStatus.CONFLICT, List.of("Cet email existe déjà"));
+                        }
+                    }
+                }
+
+                List<ContactFacets.Values> before = merged.keySet().stream()
+                        .map(id -> ContactFacets.Values.of(targets.get(id))).toList();
+                merged.forEach((id, dto) -> apply(targets.get(id), dto));
+                facets.changed(before, merged.keySet().stream()
+                        .map(id -> ContactFacets.Values.of(targets.get(id))).toList());
+                changeLog.record(ChangeOperation.UPDATED, merged.keySet());
+                suggestIndex.add(merged.keySet().stream()
+                        .map(id -> ContactSuggestIndex.toSuggestion(targets.get(id))).toList());
+                entityManager.flush();
+                entityManager.clear();
+                return new ArrayList<>(merged.keySet());
+            });
+            for (Long id : updated) {
+                int index = byId.get(id);
+                results[index] = success(index, id, ItemStatus.UPDATED);
+            }
+            contactCache.evictAll(updated);
+        } catch (RuntimeException e) {
+            failPending(byId.values(), results, e);
+        }
+    }
+
+    private void deleteChunk(List<Long> ids, int from, int to, BatchItemResultDTO[] results) {
+        Map<Long, Integer> byId = new LinkedHashMap<>();
+        for (int i = from; i < to; i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results[i] = failure(i, null, ItemStatus.INVALID, List.of("id: obligatoire"));
+            } else if (byId.putIfAbsent(id, i) != null) {
+                results[i] = failure(i, id, ItemStatus.CONFLICT, List.of("ID en double dans le lot"));
+            }
+        }
+        if (byId.isEmpty()) {
+            return;
+        }
+
+        try {
+            // Un SELECT pour distinguer les absents, un UPDATE pour tout le lot
+            List<Long> deleted = transactionTemplate.execute(status -> {
+                List<Long> active = repository.findActiveIdsIn(byId.keySet());
+                if (!active.isEmpty()) {
+                    repository.softDeleteAll(active, LocalDateTime.now());
+                    facets.removed(facets.valuesOf(active));
+                    changeLog.record(ChangeOperation.DELETED, active);
+                    suggestIndex.remove(active);
+                }
+                return active;
+            });
+            for (Long id : deleted) {
+                int index = byId.get(id);
+                results[index] = success(index, id, ItemStatus.DELETED);
+            }
+            byId.forEach((id, index) -> {
+                if (results[index] == null) {
+                    results[index] = failure(index, id, ItemStatus.NOT_FOUND, List.of("Contact non trouvé"));
+                }
+            });
+            contactCache.evictAll(deleted);
+            counter.adjust(-deleted.size());
+        } catch (RuntimeException e) {
+            failPending(byId.values(), results, e);
+        }
+    }
+
+    private int checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidBatchException("Le lot est vide");
+        }
+        if (items.size() > maxItems) {
+            throw new InvalidBatchException("Le lot dépasse " + maxItems + " éléments");
+        }
+        return items.size();
+    }
+
+    private List<String> validate(ContactRequestDTO dto) {
+        if (dto == null) {
+            return List.of("Élément vide");
+        }
+        Set<ConstraintViolation<ContactRequestDTO>> violations = validator.validate(dto);
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Lot annulé (contrainte violée entre-temps, base indisponible, échec au flush ou au commit...) :
+     * les éléments encore sans résultat sont marqués en échec, les lots suivants sont traités
+     */
+    private void failPending(Iterable<Integer> indexes, BatchItemResultDTO[] results, RuntimeException e) {
+        log.warn("Lot de l'API batch annulé : {}", NestedExceptionUtils.getMostSpecificCause(e).toString());
+        log.debug("Cause de l'annulation du lot", e);
+        for (int index : indexes) {
+            if (results[index] == null) {
+                results[index] = failure(index, null, ItemStatus.FAILED, List.of("Lot annulé, élément non appliqué"));
+            }
+        }
+    }
+
+    private static ContactRequestDTO merge(Contact target, ContactRequestDTO patch) {
+        return ContactRequestDTO.builder()
+                .id(target.getId())
+                .firstName(valueOrCurrent(patch.getFirstName(), target.getFirstName()))
+                .lastName(valueOrCurrent(patch.getLastName(), target.getLastName()))
+                .email(valueOrCurrent(patch.getEmail(), target.getEmail()))
+                .phone(valueOrCurrent(patch.getPhone(), target.getPhone()))
+                .address(valueOrCurrent(patch.getAddress(), target.getAddress()))
+                .city(valueOrCurrent(patch.getCity(), target.getCity()))
+                .postalCode(valueOrCurrent(patch.getPostalCode(), target.getPostalCode()))
+                .country(valueOrCurrent(patch.getCountry(), target.getCountry()))
+                .company(valueOrCurrent(patch.getCompany(), target.getCompany()))
+                .jobTitle(valueOrCurrent(patch.getJobTitle(), target.getJobTitle()))
+                .birthday(valueOrCurrent(patch.getBirthday(), target.getBirthday()))
+                .notes(valueOrCurrent(patch.getNotes(), target.getNotes()))
+                .website(valueOrCurrent(patch.getWebsite(), target.getWebsite()))
+                .build();
+    }
+
+    private static void apply(Contact contact, ContactRequestDTO dto) {
+        contact.setFirstName(dto.getFirstName());
+        contact.setLastName(dto.getLastName());
+        // En minuscules, comme à l'import CSV : la recherche des doublons compare les emails ainsi
+        contact.setEmail(normalize(dto.getEmail()));
+        contact.setPhone(dto.getPhone());
+        contact.setAddress(dto.getAddress());
+        contact.setCity(dto.getCity());
+        contact.setPostalCode(dto.getPostalCode());
+        contact.setCountry(dto.getCountry());
+        contact.setCompany(dto.getCompany());
+        contact.setJobTitle(dto.getJobTitle());
+        contact.setBirthday(dto.getBirthday());
+        contact.setNotes(dto.getNotes());
+        contact.setWebsite(dto.getWebsite());
+    }
+
+    private static Contact toEntity(ContactRequestDTO dto) {
+        Contact contact = Contact.builder().isDeleted(false).build();
+        apply(contact, dto);
+        return contact;
+    }
+
+    private static <T> T valueOrCurrent(T value, T current) {
+        return value != null ? value : current;
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static BatchItemResultDTO success(int index, Long id, ItemStatus status) {
+        return BatchItemResultDTO.builder().index(index).id(id).status(status.name()).errors(List.of()).build();
+    }
+
+    private static BatchItemResultDTO failure(int index, Long id, ItemStatus status, List<String> errors) {
+        return BatchItemResultDTO.builder().index(index).id(id).status(status.name()).errors(errors).build();
+    }
+
+    private static BatchResultDTO summarize(BatchItemResultDTO[] results) {
+        List<BatchItemResultDTO> items = Arrays.asList(results);
+        int succeeded = (int) items.stream().filter(item -> item.getErrors().isEmpty()).count();
+        return BatchResultDTO.builder()
+                .total(results.length)
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .items(items)
+                .build();
+    }
+}
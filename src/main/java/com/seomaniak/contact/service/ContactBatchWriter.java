@@ -0,0 +1,151 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.dto.ContactSuggestionDTO;
+import com.seomaniak.contact.model.dto.ImportChunkDTO;
+import com.seomaniak.contact.model.entity.Contact;
+import com.seomaniak.contact.repository.ContactRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Écrit un lot de contacts dans sa propre transaction, par le chemin natif de la base
+ * ({@link ContactBulkWriter} : COPY + ON CONFLICT sur PostgreSQL, MERGE JDBC sur H2).
+ * <p>
+ * Les doublons internes au lot sont résolus ici ; les emails déjà présents en base le sont
+ * par le writer en une passe ensembliste, puis ignorés, mis à jour ou rejetés selon la
+ * {@link DuplicatePolicy}, si bien qu'un doublon ne fait plus échouer le lot entier.
+ */
+@Component
+public class ContactBatchWriter {
+
+    private final ContactBulkWriter bulkWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ContactCache contactCache;
+    private final ContactCounter contactCounter;
+    private final ContactSuggestIndex suggestIndex;
+    private final ContactFacets facets;
+    private final ContactChangeLog changeLog;
+    private final ContactRepository repository;
+    private final CsvMetrics csvMetrics;
+
+    public ContactBatchWriter(ContactBulkWriter bulkWriter, PlatformTransactionManager transactionManager,
+                              ContactCache contactCache, ContactCounter contactCounter,
+                              ContactSuggestIndex suggestIndex, ContactFacets facets, ContactChangeLog changeLog,
+                              ContactRepository repository, CsvMetrics csvMetrics) {
+        this.bulkWriter = bulkWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.contactCache = contactCache;
+        this.contactCounter = contactCounter;
+        this.suggestIndex = suggestIndex;
+        this.facets = facets;
+        this.changeLog = changeLog;
+        this.repository = repository;
+        this.csvMetrics = csvMetrics;
+    }
+
+    public ImportChunkDTO writeChunk(int chunkNumber, List<ImportRow> rows, DuplicatePolicy policy,
+                                     ImportRejectReport rejects) {
+        long start = System.nanoTime();
+        int skipped = 0;
+        int rejected = 0;
+
+        // Doublons internes au lot : la première occurrence est retenue, les suivantes la complètent (UPDATE)
+        Map<String, ImportRow> byEmail = new LinkedHashMap<>(rows.size() * 2);
+        for (ImportRow row : rows) {
+            ImportRow first = byEmail.putIfAbsent(row.contact().getEmail(), row);
+            if (first == null) {
+                continue;
+            }
+            switch (policy) {
+                case UPDATE -> merge(first.contact(), row.contact());
+                case SKIP -> skipped++;
+                case REJECT -> {
+                    reject(rejects, row, ImportRejectReport.DUPLICATE_IN_FILE);
+                    rejected++;
+                }
+            }
+        }
+
+        List<ImportRow> unique = new ArrayList<>(byEmail.values());
+        ContactBulkWriter.BulkWriteResult result = transactionTemplate.execute(status -> {
+            // Comptes des facettes : valeurs des contacts du lot avant et après l'écriture (insérés ou mis à jour)
+            List<ContactFacets.Values> before = facets.activeValuesByEmails(byEmail.keySet());
+            ContactBulkWriter.BulkWriteResult written = bulkWriter.write(unique, policy);
+            facets.changed(before, facets.activeValuesByEmails(byEmail.keySet()));
+            // Contacts écrits relus par email (IDs des créations inconnus du lot) : autocomplétion et journal
+            Set<String> emails = new HashSet<>(byEmail.keySet());
+            written.duplicates().forEach(duplicate -> emails.remove(duplicate.contact().getEmail()));
+            if (!emails.isEmpty()) {
+                List<ContactSuggestionDTO> contacts = repository.findSuggestionsByEmails(emails);
+                suggestIndex.add(contacts);
+                // Contacts restaurés par l'import : de nouveau visibles, donc créés pour un miroir
+                Set<Long> updated = new HashSet<>(written.updatedIds());
+                changeLog.record(ChangeOperation.CREATED, contacts.stream()
+                        .map(ContactSuggestionDTO::getId).filter(id -> !updated.contains(id)).toList());
+                changeLog.record(ChangeOperation.UPDATED, written.updatedIds());
+            }
+            return written;
+        });
+        for (ImportRow duplicate : result.duplicates()) {
+            if (policy == DuplicatePolicy.REJECT) {
+                reject(rejects, duplicate, ImportRejectReport.DUPLICATE_EMAIL);
+                rejected++;
+            } else {
+                skipped++;
+            }
+        }
+        contactCache.evictAll(result.updatedIds());
+        contactCache.evictAll(result.restoredIds());
+        contactCounter.adjust(result.inserted() + result.restoredIds().size());
+
+        long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+        int updated = result.updatedIds().size() + result.restoredIds().size();
+        int written = result.inserted() + updated;
+        csvMetrics.recordImportChunk(written, elapsedNanos);
+        csvMetrics.recordImportRejected(rejected);
+        return ImportChunkDTO.builder()
+                .chunkNumber(chunkNumber)
+                .rows(result.inserted())
+                .updated(updated)
+                .skipped(skipped)
+                .rejected(rejected)
+                .durationMs(elapsedNanos / 1_000_000)
+                .rowsPerSecond(written * 1_000_000_000d / elapsedNanos)
+                .build();
+    }
+
+    /**
+     * Reporte les valeurs renseignées de {@code source} sur {@code target} (un champ vide n'efface rien)
+     */
+    private static void merge(Contact target, Contact source) {
+        target.setFirstName(source.getFirstName());
+        target.setLastName(source.getLastName());
+        target.setPhone(valueOrCurrent(source.getPhone(), target.getPhone()));
+        target.setCompany(valueOrCurrent(source.getCompany(), target.getCompany()));
+        target.setJobTitle(valueOrCurrent(source.getJobTitle(), target.getJobTitle()));
+        target.setAddress(valueOrCurrent(source.getAddress(), target.getAddress()));
+        target.setCity(valueOrCurrent(source.getCity(), target.getCity()));
+        target.setPostalCode(valueOrCurrent(source.getPostalCode(), target.getPostalCode()));
+        target.setCountry(valueOrCurrent(source.getCountry(), target.getCountry()));
+        target.setBirthday(valueOrCurrent(source.getBirthday(), target.getBirthday()));
+        target.setWebsite(valueOrCurrent(source.getWebsite(), target.getWebsite()));
+        target.setNotes(valueOrCurrent(source.getNotes(), target.getNotes()));
+    }
+
+    private static <T> T valueOrCurrent(T value, T current) {
+        return value != null ? value : current;
+    }
+
+    private static void reject(ImportRejectReport rejects, ImportRow row, String reason) {
+        Contact contact = row.contact();
+        rejects.reject(row.row(), reason, contact.getEmail(), contact.getFirstName(), contact.getLastName());
+    }
+}
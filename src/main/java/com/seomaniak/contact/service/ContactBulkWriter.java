@@ -0,0 +1,23 @@
+package com.seomaniak.contact.service;
+
+import java.util.List;
+
+/**
+ * Écriture ensembliste d'un lot d'import dans la transaction courante, par le chemin natif
+ * de la base (COPY + INSERT ... ON CONFLICT sur PostgreSQL, MERGE JDBC ailleurs).
+ * Les emails du lot sont déjà normalisés et distincts.
+ */
+public interface ContactBulkWriter {
+
+    BulkWriteResult write(List<ImportRow> rows, DuplicatePolicy policy);
+
+    /**
+     * @param inserted   contacts créés
+     * @param updatedIds  contacts actifs mis à jour (politique UPDATE)
+     * @param restoredIds contacts supprimés (suppression douce) mis à jour et donc restaurés (politique UPDATE) :
+     *                    de nouveau actifs, comptés comme des créations par le compteur et le journal
+     * @param duplicates  lignes non appliquées car l'email existe déjà (politiques SKIP et REJECT)
+     */
+    record BulkWriteResult(int inserted, List<Long> updatedIds, List<Long> restoredIds, List<ImportRow> duplicates) {
+    }
+}
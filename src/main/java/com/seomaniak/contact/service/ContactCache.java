@@ -0,0 +1,116 @@
+package com.seomaniak.contact.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.seomaniak.contact.config.ReadWriteRoutingDataSource;
+import com.seomaniak.contact.model.dto.CacheStatsDTO;
+import com.seomaniak.contact.model.dto.ContactResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Cache borné (taille + TTL) des contacts lus par ID.
+ * <p>
+ * Chaque écriture incrémente un compteur de version (par tranche d'IDs) avant de retirer
+ * l'entrée, au début de la transaction puis après sa fin. Une lecture ne remplit le cache
+ * que si la version n'a pas bougé pendant le chargement, et ce contrôle est atomique avec
+ * l'insertion : une valeur lue avant un commit ne peut donc pas être remise en cache après.
+ * Les chargements lisent sur le primaire : une ligne d'un réplica en retard serait servie à tous
+ * les clients jusqu'à l'expiration de l'entrée.
+ */
+@Component
+public class ContactCache {
+
+    private static final int STRIPES = 4096;
+
+    private final Cache<Long, ContactResponseDTO> cache;
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ContactCache(@Value("${contact.cache.max-size:10000}") long maxSize,
+                        @Value("${contact.cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Lecture via le cache ; en cas d'absence, {@code loader} est appelé hors de tout verrou, sur le primaire
+     */
+    public ContactResponseDTO get(Long id, Supplier<ContactResponseDTO> loader) {
+        ContactResponseDTO cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = versions.get(stripe(id));
+        ContactResponseDTO loaded = ReadWriteRoutingDataSource.onPrimary(loader);
+        cache.asMap().compute(id, (key, current) ->
+                versions.get(stripe(id)) == version ? loaded : current);
+        return loaded;
+    }
+
+    /**
+     * Valeur en cache sans chargement, ou null
+     */
+    public ContactResponseDTO getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Invalide l'entrée maintenant et à la fin de la transaction courante (commit ou rollback)
+     */
+    public void evictOnWrite(Long id) {
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    public void evictAll(Collection<Long> ids) {
+        ids.forEach(this::evict);
+    }
+
+    private void evict(Long id) {
+        // Version incrémentée AVANT le retrait : un chargement concurrent ne pourra plus réinsérer
+        versions.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+        invalidations.incrementAndGet();
+    }
+
+    public Cache<Long, ContactResponseDTO> getNativeCache() {
+        return cache;
+    }
+
+    public CacheStatsDTO stats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsDTO.builder()
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .invalidationCount(invalidations.get())
+                .build();
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,269 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.config.BackgroundConnections;
+import com.seomaniak.contact.exception.ChangeFeedExpiredException;
+import com.seomaniak.contact.model.dto.ContactChangeDTO;
+import com.seomaniak.contact.model.dto.ContactChangesPageDTO;
+import com.seomaniak.contact.model.dto.ContactResponseDTO;
+import com.seomaniak.contact.model.entity.Contact;
+import com.seomaniak.contact.repository.ContactRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Journal des modifications des contacts, pour les miroirs qui ne veulent recevoir que les changements.
+ * <p>
+ * Les écritures (formulaire, API batch, import CSV, restauration) déclarent leurs contacts modifiés ;
+ * les entrées sont écrites juste avant le commit de leur transaction, numérotées sur la ligne unique
+ * de {@code contact_change_seq} verrouillée jusqu'au commit. Les numéros suivent donc l'ordre des commits :
+ * un lecteur arrivé à {@code since=N} ne verra jamais apparaître plus tard une entrée inférieure à N.
+ * Le verrou ne couvre que l'écriture du journal et le commit, pas le reste de la transaction.
+ * <p>
+ * Les entrées plus anciennes que {@code contact.changes.retention} sont purgées ; un {@code since=} antérieur
+ * à la purge est refusé (410), le miroir repart alors d'un export.
+ */
+@Slf4j
+@Component
+public class ContactChangeLog {
+
+    private static final String LOCK_SQL = "UPDATE contact_change_seq SET last_seq = last_seq + :count WHERE id = 1";
+    private static final String INSERT_SQL = "INSERT INTO contact_changes (seq, contact_id, operation, changed_at)"
+            + " VALUES (:seq, :contactId, :operation, :changedAt)";
+    private static final String CHANGES_SQL = "SELECT seq, contact_id, operation, changed_at FROM contact_changes"
+            + " WHERE seq > :since ORDER BY seq LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final BackgroundConnections backgroundConnections;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTemplate;
+    private final EntityManager entityManager;
+    private final ContactRepository repository;
+    private final Duration retention;
+    private final Duration pruneInterval;
+    private final ScheduledExecutorService scheduler;
+    private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+
+    public ContactChangeLog(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            BackgroundConnections backgroundConnections, EntityManager entityManager, ContactRepository repository,
+                            @Value("${contact.changes.retention:7d}") Duration retention,
+                            @Value("${contact.changes.prune-interval:1h}") Duration pruneInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.backgroundConnections = backgroundConnections;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+        this.entityManager = entityManager;
+        this.repository = repository;
+        this.retention = retention;
+        this.pruneInterval = pruneInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("contact-changes-prune").daemon().factory());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedule() {
+        if (pruneInterval.isPositive()) {
+            scheduler.scheduleWithFixedDelay(this::pruneQuietly,
+                    pruneInterval.toMillis(), pruneInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Appelé après chaque commit qui a écrit dans le journal, avec le dernier numéro attribué
+     */
+    public void addListener(LongConsumer listener) {
+        listeners.add(listener);
+    }
+
+    public void record(ChangeOperation operation, Long contactId) {
+        record(operation, List.of(contactId));
+    }
+
+    /**
+     * Ajoute des entrées au journal de la transaction courante (écrites avant son commit, perdues
+     * avec son rollback) ; hors transaction, dans une transaction à part
+     */
+    public void record(ChangeOperation operation, Collection<Long> contactIds) {
+        if (contactIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionTemplate.executeWithoutResult(status -> record(operation, contactIds));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        for (Long contactId : contactIds) {
+            pending.changes.add(new PendingChange(contactId, operation));
+        }
+    }
+
+    /**
+     * Dernier numéro attribué par la transaction courante, connu à partir de son commit ; 0 si elle n'a rien
+     * écrit au journal. Les numéros suivant l'ordre des commits, ils ordonnent les effets appliqués après
+     * commit, dont les threads peuvent s'exécuter dans le désordre.
+     */
+    public long transactionSeq() {
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        return pending != null ? pending.lastSeq : 0;
+    }
+
+    /**
+     * Dernier numéro attribué (0 si le journal n'a jamais servi)
+     */
+    public long lastSeq() {
+        Long last = jdbcTemplate.queryForObject("SELECT last_seq FROM contact_change_seq WHERE id = 1",
+                new MapSqlParameterSource(), Long.class);
+        return last != null ? last : 0;
+    }
+
+    /**
+     * Entrées de numéro supérieur à {@code since}, au plus {@code limit}, avec l'état courant des contacts
+     * (une lecture par lot) ; ChangeFeedExpiredException si des entrées postérieures à {@code since} ont été purgées
+     */
+    public ContactChangesPageDTO changes(long since, int limit) {
+        return readTemplate.execute(status -> {
+            checkSince(since);
+            List<ContactChangeDTO> changes = jdbcTemplate.query(CHANGES_SQL,
+                    new MapSqlParameterSource("since", since).addValue("limit", limit + 1),
+                    (rs, rowNum) -> ContactChangeDTO.builder()
+                            .seq(rs.getLong("seq"))
+                            .contactId(rs.getLong("contact_id"))
+                            .operation(rs.getString("operation"))
+                            .changedAt(rs.getObject("changed_at", LocalDateTime.class))
+                            .build());
+            boolean hasMore = changes.size() > limit;
+            List<ContactChangeDTO> page = hasMore ? changes.subList(0, limit) : changes;
+
+            List<Long> ids = page.stream().map(ContactChangeDTO::getContactId).distinct().toList();
+            Map<Long, ContactResponseDTO> contacts = ids.isEmpty() ? Map.of()
+                    : repository.findActiveByIdIn(ids).stream()
+                            .collect(Collectors.toMap(Contact::getId, ContactService::toResponseDTO));
+            page.forEach(change -> change.setContact(contacts.get(change.getContactId())));
+
+            return ContactChangesPageDTO.builder()
+                    .changes(page)
+                    .nextSince(page.isEmpty() ? since : page.get(page.size() - 1).getSeq())
+                    .hasMore(hasMore)
+                    .build();
+        });
+    }
+
+    /**
+     * Refuse un point de reprise dont les entrées suivantes ont déjà été purgées
+     */
+    public void checkSince(long since) {
+        Long pruned = jdbcTemplate.queryForObject("SELECT pruned_seq FROM contact_change_seq WHERE id = 1",
+                new MapSqlParameterSource(), Long.class);
+        if (pruned != null && since < pruned) {
+            throw new ChangeFeedExpiredException("Entrées antérieures à " + pruned
+                    + " purgées : repartir d'un export complet (en-tête X-Contact-Changes-Since)");
+        }
+    }
+
+    /**
+     * Supprime les entrées plus anciennes que la rétention ; le seuil de purge est publié avant la suppression,
+     * un lecteur ne lit donc jamais un journal troué. Renvoie le nombre d'entrées supprimées.
+     */
+    public int prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        Long horizon = jdbcTemplate.queryForObject("SELECT MAX(seq) FROM contact_changes WHERE changed_at < :cutoff",
+                new MapSqlParameterSource("cutoff", cutoff), Long.class);
+        if (horizon == null) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("horizon", horizon);
+        jdbcTemplate.update("UPDATE contact_change_seq SET pruned_seq = :horizon WHERE id = 1 AND pruned_seq < :horizon",
+                params);
+        int deleted = jdbcTemplate.update("DELETE FROM contact_changes WHERE seq <= :horizon", params);
+        if (deleted > 0) {
+            log.info("Journal des modifications : {} entrée(s) antérieure(s) à {} purgée(s)", deleted, cutoff);
+        }
+        return deleted;
+    }
+
+    private void pruneQuietly() {
+        try {
+            backgroundConnections.call(this::prune);
+        } catch (RuntimeException e) {
+            // Une exception non rattrapée annulerait les purges suivantes
+            log.warn("Purge du journal des modifications en échec : {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private record PendingChange(Long contactId, ChangeOperation operation) {
+    }
+
+    // Entrées d'une transaction, écrites à son commit
+    private class PendingChanges implements TransactionSynchronization {
+
+        private final List<PendingChange> changes = new ArrayList<>();
+        private long lastSeq;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Écritures JPA envoyées d'abord : le verrou du journal est pris en dernier, juste avant le commit,
+            // et jamais avant un verrou de ligne de contacts (pas d'interblocage entre écritures)
+            entityManager.flush();
+            int count = changes.size();
+            jdbcTemplate.update(LOCK_SQL, new MapSqlParameterSource("count", count));
+            lastSeq = lastSeq();
+
+            LocalDateTime now = LocalDateTime.now();
+            SqlParameterSource[] batch = new SqlParameterSource[count];
+            for (int i = 0; i < count; i++) {
+                PendingChange change = changes.get(i);
+                batch[i] = new MapSqlParameterSource()
+                        .addValue("seq", lastSeq - count + 1 + i)
+                        .addValue("contactId", change.contactId())
+                        .addValue("operation", change.operation().name())
+                        .addValue("changedAt", now);
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+
+        @Override
+        public void afterCommit() {
+            listeners.forEach(listener -> listener.accept(lastSeq));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ContactChangeLog.this);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.config.BackgroundConnections;
+import com.seomaniak.contact.exception.ChangeFeedExpiredException;
+import com.seomaniak.contact.exception.ChangeStreamFullException;
+import com.seomaniak.contact.model.dto.ContactChangeDTO;
+import com.seomaniak.contact.model.dto.ContactChangesPageDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Flux SSE du journal des modifications ({@code GET /contacts/api/changes/stream}).
+ * <p>
+ * Chaque abonné a sa position (numéro du dernier événement reçu, id SSE de chaque événement) : un client
+ * qui se reconnecte avec {@code Last-Event-ID} reprend là où il s'était arrêté. Un seul thread lit le journal,
+ * réveillé après chaque commit local et au plus tard toutes les {@code poll-interval} (écritures d'autres
+ * instances) ; les abonnés à la même position partagent la même lecture. Les envois partent sur des threads
+ * virtuels : un client lent ne retarde pas les autres, il reçoit la suite à son rythme. Un commentaire
+ * {@code heartbeat} toutes les {@code heartbeat} garde la connexion ouverte à travers les proxys.
+ */
+@Slf4j
+@Component
+public class ContactChangeStream {
+
+    private final ContactChangeLog changeLog;
+    private final BackgroundConnections backgroundConnections;
+    private final int batchSize;
+    private final int maxSubscribers;
+    private final Duration pollInterval;
+    private final Duration heartbeat;
+    private final Duration streamTimeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean dispatchPending = new AtomicBoolean();
+    // Dernier numéro connu (commits locaux et lectures du journal)
+    private final AtomicLong latest = new AtomicLong();
+    private final Counter events;
+
+    public ContactChangeStream(ContactChangeLog changeLog, BackgroundConnections backgroundConnections,
+                               MeterRegistry registry,
+                               @Value("${contact.changes.batch-size:500}") int batchSize,
+                               @Value("${contact.changes.max-subscribers:100}") int maxSubscribers,
+                               @Value("${contact.changes.poll-interval:1s}") Duration pollInterval,
+                               @Value("${contact.changes.heartbeat:15s}") Duration heartbeat,
+                               @Value("${contact.changes.stream-timeout:30m}") Duration streamTimeout) {
+        this.changeLog = changeLog;
+        this.backgroundConnections = backgroundConnections;
+        this.batchSize = batchSize;
+        this.maxSubscribers = maxSubscribers;
+        this.pollInterval = pollInterval;
+        this.heartbeat = heartbeat;
+        this.streamTimeout = streamTimeout;
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("contact-changes-stream").daemon().factory());
+
+        this.events = Counter.builder("contact.changes.events")
+                .description("Événements de modification envoyés aux abonnés SSE")
+                .register(registry);
+        Gauge.builder("contact.changes.subscribers", subscribers, Set::size)
+                .description("Abonnés au flux SSE des modifications")
+                .register(registry);
+
+        changeLog.addListener(seq -> {
+            latest.accumulateAndGet(seq, Math::max);
+            wakeUp();
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedule() {
+        dispatcher.scheduleWithFixedDelay(this::dispatchQuietly,
+                pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        dispatcher.scheduleAtFixedRate(this::heartbeat,
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Nouvel abonné à partir de {@code since} (exclu) ; refusé si la position a été purgée (410)
+     * ou si le nombre d'abonnés est atteint (503)
+     */
+    public SseEmitter subscribe(long since) {
+        changeLog.checkSince(since);
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ChangeStreamFullException("Nombre maximal d'abonnés au flux des modifications atteint ("
+                    + maxSubscribers + "), veuillez réessayer plus tard");
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, since);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        wakeUp();
+        return emitter;
+    }
+
+    // Plusieurs commits rapprochés : une seule lecture en attente à la fois
+    private void wakeUp() {
+        if (dispatchPending.compareAndSet(false, true)) {
+            dispatcher.execute(this::dispatchQuietly);
+        }
+    }
+
+    private void dispatch() {
+        dispatchPending.set(false);
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long last = latest.accumulateAndGet(changeLog.lastSeq(), Math::max);
+        Map<Long, List<Subscriber>> behind = subscribers.stream()
+                .filter(subscriber -> !subscriber.sending.get() && subscriber.position < last)
+                .collect(Collectors.groupingBy(subscriber -> subscriber.position));
+
+        for (Map.Entry<Long, List<Subscriber>> group : behind.entrySet()) {
+            ContactChangesPageDTO page;
+            try {
+                page = changeLog.changes(group.getKey(), batchSize);
+            } catch (ChangeFeedExpiredException e) {
+                // Position purgée pendant la déconnexion du client : il doit repartir d'un export
+                group.getValue().forEach(subscriber -> subscriber.expire(e.getMessage()));
+                continue;
+            }
+            for (Subscriber subscriber : group.getValue()) {
+                if (subscriber.sending.compareAndSet(false, true)) {
+                    senders.execute(() -> subscriber.send(page));
+                }
+            }
+        }
+    }
+
+    private void dispatchQuietly() {
+        try {
+            backgroundConnections.run(this::dispatch);
+        } catch (RuntimeException e) {
+            // Une exception non rattrapée annulerait les lectures planifiées suivantes
+            log.warn("Lecture du journal des modifications pour le flux SSE en échec : {}", e.getMessage());
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sending.compareAndSet(false, true)) {
+                senders.execute(subscriber::heartbeat);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private class Subscriber {
+
+        private final SseEmitter emitter;
+        // Modifiée par un seul envoi à la fois (drapeau sending)
+        private volatile long position;
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+
+        void send(ContactChangesPageDTO page) {
+            try {
+                for (ContactChangeDTO change : page.getChanges()) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(change.getSeq()))
+                            .name("change")
+                            .data(change, MediaType.APPLICATION_JSON));
+                    position = change.getSeq();
+                    events.increment();
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return;
+            } finally {
+                sending.set(false);
+            }
+            // Suite du lot, ou commits arrivés pendant l'envoi (l'abonné occupé a été sauté) ; un lot vide
+            // (réplica en retard) attend la lecture planifiée suivante
+            if (!page.getChanges().isEmpty() && position < latest.get()) {
+                wakeUp();
+            }
+        }
+
+        void heartbeat() {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                sending.set(false);
+            }
+        }
+
+        void expire(String message) {
+            try {
+                emitter.send(SseEmitter.event().name("expired").data(message));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+            subscribers.remove(this);
+        }
+
+        // Client parti : le conteneur signale l'erreur et termine la requête asynchrone de lui-même
+        private void close() {
+            subscribers.remove(this);
+        }
+    }
+}
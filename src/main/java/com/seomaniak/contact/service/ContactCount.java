@@ -0,0 +1,7 @@
+package com.seomaniak.contact.service;
+
+/**
+ * Total d'une liste : exact, ou estimé (affiché « ≈ » dans l'interface)
+ */
+public record ContactCount(long value, boolean exact) {
+}
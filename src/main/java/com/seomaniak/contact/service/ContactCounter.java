@@ -0,0 +1,169 @@
+package com.seomaniak.contact.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seomaniak.contact.config.BackgroundConnections;
+import com.seomaniak.contact.repository.ContactRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Totaux des listes sans COUNT à chaque page :
+ * <ul>
+ *     <li>liste complète : compteur maintenu par les écritures (après commit), recalé par un COUNT exact
+ *     toutes les {@code contact.count.resync-interval} pour absorber ce qui lui échappe (écritures hors
+ *     application). Le COUNT tourne sur un thread de fond, dans sa propre transaction sur le primaire :
+ *     une requête ne fait que lire la valeur connue, estimée tant que le premier COUNT n'est pas fait ;</li>
+ *     <li>recherche : total fourni par le moteur (exact, ou estimé par le planner PostgreSQL quand le
+ *     résultat est grand), gardé {@code contact.count.search-ttl} par terme et filtres de facettes.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ContactCounter {
+
+    private final ContactRepository repository;
+    private final ContactSearchEngine searchEngine;
+    private final BackgroundConnections backgroundConnections;
+    private final TransactionTemplate primaryTemplate;
+    private final Duration resyncInterval;
+    private final Cache<SearchKey, ContactCount> searchCounts;
+    private final ScheduledExecutorService scheduler;
+
+    // -1 : pas encore chargé
+    private final AtomicLong active = new AtomicLong(-1);
+    private final AtomicBoolean resyncPending = new AtomicBoolean();
+
+    public ContactCounter(ContactRepository repository, ContactSearchEngine searchEngine,
+                          BackgroundConnections backgroundConnections, PlatformTransactionManager transactionManager,
+                          @Value("${contact.count.resync-interval:5m}") Duration resyncInterval,
+                          @Value("${contact.count.search-ttl:30s}") Duration searchTtl) {
+        this.repository = repository;
+        this.searchEngine = searchEngine;
+        this.backgroundConnections = backgroundConnections;
+        // Transaction à part, en écriture donc routée vers le primaire : un compte lu sur un réplica
+        // en retard resterait faux jusqu'au recalage suivant
+        this.primaryTemplate = new TransactionTemplate(transactionManager);
+        primaryTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.resyncInterval = resyncInterval;
+        this.searchCounts = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(searchTtl)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("contact-count-resync").daemon().factory());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedule() {
+        requestResync();
+        if (resyncInterval.isPositive()) {
+            scheduler.scheduleWithFixedDelay(this::resyncQuietly,
+                    resyncInterval.toMillis(), resyncInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Valeur connue, sans accès base ; tant que le premier COUNT n'a pas abouti, 0 non exact
+     * (la page complète le total avec ce qu'elle a vu)
+     */
+    public ContactCount countActive() {
+        long count = active.get();
+        if (count < 0) {
+            requestResync();
+            return new ContactCount(0, false);
+        }
+        return new ContactCount(count, true);
+    }
+
+    /**
+     * Chargement hors du cache (pas de verrou tenu pendant la requête) : deux recherches simultanées
+     * du même terme peuvent compter deux fois, sans autre conséquence
+     */
+    public ContactCount countSearch(String term, ContactFilter filter) {
+        SearchKey key = new SearchKey(term.toLowerCase(Locale.ROOT), filter);
+        ContactCount cached = searchCounts.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        ContactCount count = searchEngine.count(term, filter);
+        searchCounts.put(key, count);
+        return count;
+    }
+
+    /**
+     * Contacts actifs ajoutés (delta positif) ou supprimés ; appliqué au commit de la transaction courante
+     */
+    public void adjust(long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(delta);
+                }
+            });
+        } else {
+            apply(delta);
+        }
+    }
+
+    private void apply(long delta) {
+        active.updateAndGet(current -> current < 0 ? current : current + delta);
+    }
+
+    // Un seul COUNT en attente à la fois, quel que soit le nombre de requêtes qui le réclament
+    private void requestResync() {
+        if (resyncPending.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::resyncQuietly);
+            } catch (RejectedExecutionException e) {
+                resyncPending.set(false);
+            }
+        }
+    }
+
+    void resync() {
+        resyncPending.set(false);
+        // Connexion réservée : le COUNT ne prend pas la place d'une requête
+        Long count = backgroundConnections.call(() -> primaryTemplate.execute(status -> repository.countActive()));
+        active.set(count);
+    }
+
+    private void resyncQuietly() {
+        try {
+            resync();
+        } catch (RuntimeException e) {
+            // Une exception non rattrapée annulerait les recalages suivants
+            log.warn("Recalage du nombre de contacts actifs en échec : {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private record SearchKey(String term, ContactFilter filter) {
+    }
+}
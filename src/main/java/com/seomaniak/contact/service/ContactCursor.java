@@ -0,0 +1,61 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.exception.InvalidCursorException;
+import com.seomaniak.contact.model.entity.Contact;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position opaque dans un parcours par clé (keyset) : dernière valeur de tri + ID.
+ * Encodée en Base64 URL, par ex. {@code n:42:Dubois} ou {@code u:42:2025-01-31T10:15:30}.
+ */
+public record ContactCursor(SortKey sortKey, String lastName, LocalDateTime updatedAt, Long id) {
+
+    public enum SortKey {
+        LAST_NAME("n"),
+        UPDATED_AT("u");
+
+        private final String code;
+
+        SortKey(String code) {
+            this.code = code;
+        }
+
+        public static SortKey fromParameter(String value) {
+            return "updatedAt".equalsIgnoreCase(value) ? UPDATED_AT : LAST_NAME;
+        }
+    }
+
+    public static ContactCursor after(SortKey sortKey, Contact contact) {
+        return new ContactCursor(sortKey, contact.getLastName(), contact.getUpdatedAt(), contact.getId());
+    }
+
+    public String encode() {
+        String value = sortKey == SortKey.UPDATED_AT ? updatedAt.toString() : lastName;
+        String raw = sortKey.code + ":" + id + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ContactCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Curseur invalide");
+            }
+            Long id = Long.valueOf(parts[1]);
+            if (SortKey.UPDATED_AT.code.equals(parts[0])) {
+                return new ContactCursor(SortKey.UPDATED_AT, null, LocalDateTime.parse(parts[2]), id);
+            }
+            if (SortKey.LAST_NAME.code.equals(parts[0])) {
+                return new ContactCursor(SortKey.LAST_NAME, parts[2], null, id);
+            }
+            throw new InvalidCursorException("Curseur invalide");
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Curseur invalide");
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.seomaniak.contact.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seomaniak.contact.config.BackgroundConnections;
+import com.seomaniak.contact.config.DatabasePlatform;
+import com.seomaniak.contact.model.dto.FacetValueDTO;
+import com.seomaniak.contact.model.dto.FacetsDTO;
+import com.seomaniak.contact.model.entity.Contact;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comptes par ville, pays et société affichés à côté de la liste.
+ * <p>
+ * Sans recherche ni autre filtre, les comptes sont lus dans la table {@code contact_facets}, tenue à jour
+ * par chaque écriture (création, modification, suppression, import, restauration) dans sa propre transaction :
+ * pas de GROUP BY sur {@code contacts} à l'affichage. Avec une recherche ou un filtre, le GROUP BY se limite
+ * aux contacts correspondants (moteur de recherche) et son résultat est gardé {@code search-ttl}.
+ * <p>
+ * Les écritures hors application (SQL direct, restauration de sauvegarde) échappent aux comptes : toutes
+ * les {@code check-interval}, la table est comparée à un GROUP BY complet et reconstruite si elle a dérivé.
+ */
+@Slf4j
+@Service
+public class ContactFacets {
+
+    private static final String VALUES_SQL = "SELECT city, country, company FROM contacts";
+
+    // Même agrégat que la migration V6__contact_facets
+    private static final String GROUPED_SQL = "SELECT facet, facet_value, COUNT(*) AS contacts"
+            + " FROM (SELECT 'city' AS facet, city AS facet_value FROM contacts WHERE is_deleted = false"
+            + " UNION ALL SELECT 'country', country FROM contacts WHERE is_deleted = false"
+            + " UNION ALL SELECT 'company', company FROM contacts WHERE is_deleted = false) v"
+            + " WHERE facet_value IS NOT NULL AND TRIM(facet_value) <> '' GROUP BY facet, facet_value";
+
+    private static final String TOP_SQL = "SELECT facet_value, contacts FROM contact_facets"
+            + " WHERE facet = :facet AND contacts > 0 ORDER BY contacts DESC, facet_value LIMIT :limit";
+
+    private static final String POSTGRES_UPSERT_SQL = "INSERT INTO contact_facets (facet, facet_value, contacts)"
+            + " VALUES (:facet, :value, :delta) ON CONFLICT (facet, facet_value)"
+            + " DO UPDATE SET contacts = contact_facets.contacts + EXCLUDED.contacts";
+
+    private static final String H2_UPSERT_SQL = "MERGE INTO contact_facets t USING (VALUES (CAST(:facet AS VARCHAR(16)),"
+            + " CAST(:value AS VARCHAR(100)), CAST(:delta AS BIGINT))) s (facet, facet_value, contacts)"
+            + " ON t.facet = s.facet AND t.facet_value = s.facet_value"
+            + " WHEN MATCHED THEN UPDATE SET contacts = t.contacts + s.contacts"
+            + " WHEN NOT MATCHED THEN INSERT (facet, facet_value, contacts) VALUES (s.facet, s.facet_value, s.contacts)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final BackgroundConnections backgroundConnections;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    private final ContactSearchEngine searchEngine;
+    private final boolean postgres;
+    private final Duration checkInterval;
+    private final Duration initialDelay;
+    private final Cache<SearchKey, List<FacetValueDTO>> searchFacets;
+    private final ScheduledExecutorService scheduler;
+    private final Counter rebuilds;
+
+    public ContactFacets(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         BackgroundConnections backgroundConnections, ContactSearchEngine searchEngine, DatabasePlatform databasePlatform, MeterRegistry registry,
+                         @Value("${contact.facets.search-ttl:30s}") Duration searchTtl,
+                         @Value("${contact.facets.check-interval:15m}") Duration checkInterval,
+                         @Value("${contact.facets.initial-delay:2m}") Duration initialDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.backgroundConnections = backgroundConnections;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Table et contacts lus dans le même instantané : une écriture en cours ne passe pas pour une dérive
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTemplate.setReadOnly(true);
+        this.searchEngine = searchEngine;
+        this.postgres = databasePlatform.isPostgres();
+        this.checkInterval = checkInterval;
+        this.initialDelay = initialDelay;
+        this.searchFacets = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(searchTtl)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("contact-facets").daemon().factory());
+        this.rebuilds = Counter.builder("contact.facets.rebuilds")
+                .description("Reconstructions de contact_facets après une dérive")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedule() {
+        if (checkInterval.isPositive()) {
+            scheduler.scheduleWithFixedDelay(this::reconcileQuietly,
+                    initialDelay.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Valeurs les plus fréquentes de chaque facette parmi les contacts de la liste ; le filtre d'une facette
+     * ne s'applique pas à ses propres comptes (les autres valeurs restent proposées)
+     */
+    @Timed("contact.facets")
+    public FacetsDTO facets(String search, ContactFilter filter, int limit) {
+        String term = StringUtils.hasText(search) ? search.trim() : "";
+        return FacetsDTO.builder()
+                .city(facet(term, filter.without(Facet.CITY), Facet.CITY, limit))
+                .country(facet(term, filter.without(Facet.COUNTRY), Facet.COUNTRY, limit))
+                .company(facet(term, filter.without(Facet.COMPANY), Facet.COMPANY, limit))
+                .build();
+    }
+
+    private List<FacetValueDTO> facet(String term, ContactFilter filter, Facet facet, int limit) {
+        if (term.isEmpty() && filter.isEmpty()) {
+            return jdbcTemplate.query(TOP_SQL,
+                    new MapSqlParameterSource("facet", facet.getColumn()).addValue("limit", limit),
+                    (rs, rowNum) -> new FacetValueDTO(rs.getString("facet_value"), rs.getLong("contacts")));
+        }
+        return searchFacets.get(new SearchKey(term.toLowerCase(Locale.ROOT), filter, facet, limit),
+                key -> searchEngine.facet(term, filter, facet, limit));
+    }
+
+    /**
+     * Valeurs de facettes des contacts donnés, quel que soit leur état (lues après une suppression douce)
+     */
+    public List<Values> valuesOf(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(VALUES_SQL + " WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids),
+                (rs, rowNum) -> new Values(rs.getString("city"), rs.getString("country"), rs.getString("company")));
+    }
+
+    /**
+     * Valeurs de facettes des contacts actifs portant ces emails (avant et après l'écriture d'un lot d'import)
+     */
+    public List<Values> activeValuesByEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(VALUES_SQL + " WHERE email IN (:emails) AND is_deleted = false",
+                new MapSqlParameterSource("emails", emails),
+                (rs, rowNum) -> new Values(rs.getString("city"), rs.getString("country"), rs.getString("company")));
+    }
+
+    public void added(Collection<Values> values) {
+        changed(List.of(), values);
+    }
+
+    public void removed(Collection<Values> values) {
+        changed(values, List.of());
+    }
+
+    /**
+     * Reporte dans {@code contact_facets} le passage de {@code before} à {@code after}, dans la transaction
+     * de l'écriture : annulée avec elle. Lignes mises à jour dans un ordre fixe (facette, valeur) pour que
+     * deux écritures concurrentes ne s'interbloquent pas.
+     */
+    public void changed(Collection<Values> before, Collection<Values> after) {
+        Map<Facet, TreeMap<String, Long>> deltas = new EnumMap<>(Facet.class);
+        before.forEach(values -> values.count(deltas, -1));
+        after.forEach(values -> values.count(deltas, 1));
+
+        List<SqlParameterSource> batch = new ArrayList<>();
+        deltas.forEach((facet, byValue) -> byValue.forEach((value, delta) -> {
+            if (delta != 0) {
+                batch.add(new MapSqlParameterSource()
+                        .addValue("facet", facet.getColumn())
+                        .addValue("value", value)
+                        .addValue("delta", delta));
+            }
+        }));
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(postgres ? POSTGRES_UPSERT_SQL : H2_UPSERT_SQL,
+                    batch.toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    /**
+     * Compare la table à un GROUP BY complet et la reconstruit si elle a dérivé ; true si reconstruite
+     */
+    public boolean reconcile() {
+        boolean drifted = Boolean.TRUE.equals(snapshotTemplate.execute(status -> {
+            Map<String, Long> stored = new HashMap<>();
+            jdbcTemplate.query("SELECT facet, facet_value, contacts FROM contact_facets WHERE contacts <> 0",
+                    rs -> {
+                        stored.put(rs.getString("facet") + ':' + rs.getString("facet_value"), rs.getLong("contacts"));
+                    });
+            Map<String, Long> actual = new HashMap<>();
+            jdbcTemplate.query(GROUPED_SQL, rs -> {
+                actual.put(rs.getString("facet") + ':' + rs.getString("facet_value"), rs.getLong("contacts"));
+            });
+            return !stored.equals(actual);
+        }));
+        if (!drifted) {
+            // Valeurs qui n'ont plus de contact : rien à recompter
+            jdbcTemplate.update("DELETE FROM contact_facets WHERE contacts = 0", new MapSqlParameterSource());
+            return false;
+        }
+        rebuild();
+        return true;
+    }
+
+    /**
+     * Recalcule toute la table en une transaction. Sur PostgreSQL, le verrou EXCLUSIVE laisse passer
+     * les lectures et fait attendre les écritures de comptes, appliquées après la reconstruction.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (postgres) {
+                jdbcTemplate.update("LOCK TABLE contact_facets IN EXCLUSIVE MODE", new MapSqlParameterSource());
+            }
+            jdbcTemplate.update("DELETE FROM contact_facets", new MapSqlParameterSource());
+            jdbcTemplate.update("INSERT INTO contact_facets (facet, facet_value, contacts) " + GROUPED_SQL,
+                    new MapSqlParameterSource());
+        });
+        rebuilds.increment();
+        log.info("Comptes des facettes reconstruits en {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void reconcileQuietly() {
+        try {
+            if (backgroundConnections.call(this::reconcile)) {
+                log.warn("Comptes des facettes en écart avec les contacts : table reconstruite");
+            }
+        } catch (RuntimeException e) {
+            // Une exception non rattrapée annulerait les vérifications suivantes
+            log.warn("Vérification des comptes des facettes en échec : {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Valeurs de facettes d'un contact ; vide ou null = non compté
+     */
+    public record Values(String city, String country, String company) {
+
+        public static Values of(Contact contact) {
+            return new Values(contact.getCity(), contact.getCountry(), contact.getCompany());
+        }
+
+        private void count(Map<Facet, TreeMap<String, Long>> deltas, long delta) {
+            for (Facet facet : Facet.values()) {
+                String value = switch (facet) {
+                    case CITY -> city;
+                    case COUNTRY -> country;
+                    case COMPANY -> company;
+                };
+                if (StringUtils.hasText(value)) {
+                    deltas.computeIfAbsent(facet, f -> new TreeMap<>()).merge(value, delta, Long::sum);
+                }
+            }
+        }
+    }
+
+    private record SearchKey(String term, ContactFilter filter, Facet facet, int limit) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.seomaniak.contact.service;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Filtres de facettes de la liste (valeur exacte de la colonne) ; null ou vide = pas de filtre
+ */
+public record ContactFilter(String city, String country, String company) {
+
+    public static final ContactFilter NONE = new ContactFilter(null, null, null);
+
+    public ContactFilter {
+        city = StringUtils.hasText(city) ? city : null;
+        country = StringUtils.hasText(country) ? country : null;
+        company = StringUtils.hasText(company) ? company : null;
+    }
+
+    public boolean isEmpty() {
+        return city == null && country == null && company == null;
+    }
+
+    public String value(Facet facet) {
+        return switch (facet) {
+            case CITY -> city;
+            case COUNTRY -> country;
+            case COMPANY -> company;
+        };
+    }
+
+    /**
+     * Mêmes filtres sans celui de {@code facet} : les comptes d'une facette ignorent son propre filtre,
+     * pour que les autres valeurs restent proposées
+     */
+    public ContactFilter without(Facet facet) {
+        return new ContactFilter(facet == Facet.CITY ? null : city, facet == Facet.COUNTRY ? null : country,
+                facet == Facet.COMPANY ? null : company);
+    }
+}
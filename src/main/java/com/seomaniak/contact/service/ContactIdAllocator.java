@@ -0,0 +1,53 @@
+package com.seomaniak.contact.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Attribue des IDs aux contacts insérés en SQL natif, en partageant contacts_seq avec Hibernate.
+ * <p>
+ * Même convention que l'optimiseur « pooled » d'Hibernate (allocationSize = 50 = INCREMENT BY) :
+ * chaque valeur v tirée de la séquence réserve la plage [v - 49, v]. Les plages sont tirées
+ * en une seule requête par lot et les IDs non consommés servent au lot suivant.
+ */
+class ContactIdAllocator {
+
+    static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String blockQuery;
+    private final Deque<long[]> ranges = new ArrayDeque<>();
+
+    /**
+     * @param blockQuery requête renvoyant autant de valeurs de la séquence que le paramètre demandé
+     */
+    ContactIdAllocator(JdbcTemplate jdbcTemplate, String blockQuery) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockQuery = blockQuery;
+    }
+
+    synchronized long[] allocate(int count) {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            if (ranges.isEmpty()) {
+                int blocks = (count - filled + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+                List<Long> values = jdbcTemplate.queryForList(blockQuery, Long.class, blocks);
+                for (long value : values) {
+                    ranges.add(new long[]{Math.max(1, value - ALLOCATION_SIZE + 1), value});
+                }
+            }
+            long[] range = ranges.peek();
+            while (filled < count && range[0] <= range[1]) {
+                ids[filled++] = range[0]++;
+            }
+            if (range[0] > range[1]) {
+                ranges.poll();
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,46 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.dto.FacetValueDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Recherche plein texte sur les contacts actifs (prénom, nom, email, société, ville), combinée aux
+ * filtres de facettes. Renvoie les IDs classés par pertinence ; le chargement des données reste à
+ * l'appelant. Terme vide : filtres seuls, tri par nom.
+ */
+public interface ContactSearchEngine {
+
+    /**
+     * Page d'IDs lue en LIMIT n+1, sans COUNT
+     */
+    Slice<Long> search(String term, ContactFilter filter, Pageable pageable);
+
+    /**
+     * Nombre de contacts correspondants, éventuellement estimé s'il est grand
+     */
+    ContactCount count(String term, ContactFilter filter);
+
+    /**
+     * Valeurs les plus fréquentes de {@code facet} parmi les contacts correspondants (GROUP BY)
+     */
+    List<FacetValueDTO> facet(String term, ContactFilter filter, Facet facet, int limit);
+
+    /**
+     * Terme pris littéralement dans un LIKE : {@code %}, {@code _} et le caractère d'échappement
+     * sont précédés de {@code escape}, à déclarer dans la requête ({@code ESCAPE})
+     */
+    static String escapeLike(String term, char escape) {
+        StringBuilder escaped = new StringBuilder(term.length() + 8);
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == '%' || c == '_' || c == escape) {
+                escaped.append(escape);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
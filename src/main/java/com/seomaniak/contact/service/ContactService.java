@@ -1,33 +1,206 @@
 package com.seomaniak.contact.service;
 
+import com.seomaniak.contact.exception.InvalidFieldException;
 import com.seomaniak.contact.exception.ResourceNotFoundException;
+import com.seomaniak.contact.model.dto.ContactPageDTO;
 import com.seomaniak.contact.model.dto.ContactRequestDTO;
+import com.seomaniak.contact.model.dto.CursorPageDTO;
 import com.seomaniak.contact.model.dto.ContactResponseDTO;
+import com.seomaniak.contact.model.dto.ContactSummaryDTO;
+import com.seomaniak.contact.model.dto.FacetsDTO;
 import com.seomaniak.contact.model.entity.Contact;
 import com.seomaniak.contact.repository.ContactRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("contact.service")
 public class ContactService {
 
+    private static final Sort DEFAULT_SORT = Sort.by("lastName").ascending().and(Sort.by("id"));
+    private static final Set<String> SELECTABLE_FIELDS = Set.of(
+            "id", "firstName", "lastName", "email", "phone", "address", "city", "postalCode", "country",
+            "company", "jobTitle", "birthday", "notes", "website", "createdAt", "updatedAt");
+
     private final ContactRepository repository;
+    private final ContactSearchEngine searchEngine;
+    private final ContactCache contactCache;
+    private final ContactCounter counter;
+    private final ContactSuggestIndex suggestIndex;
+    private final ContactFacets facets;
+    private final ContactChangeLog changeLog;
+
+    /**
+     * Liste paginée : avec un terme ou un filtre de facette, les IDs viennent du moteur de recherche
+     * (classés par pertinence), sinon d'un simple parcours trié ; seules les colonnes de la vue liste
+     * sont ensuite lues. Pas de COUNT par page : le total vient de {@link ContactCounter}.
+     */
+    @Transactional(readOnly = true)
+    public ContactPageDTO<ContactSummaryDTO> findAll(String search, ContactFilter filter, Pageable pageable) {
+        Slice<Long> ids = findIds(search, filter, pageable);
+        Map<Long, ContactSummaryDTO> byId = repository.findSummariesByIds(ids.getContent()).stream()
+                .collect(Collectors.toMap(ContactSummaryDTO::getId, Function.identity()));
+        return toPage(search, filter, ids, byId);
+    }
+
+    /**
+     * Même liste, limitée aux champs demandés (paramètre {@code fields=} de l'API)
+     */
+    @Transactional(readOnly = true)
+    public ContactPageDTO<Map<String, Object>> findAll(String search, ContactFilter filter, Pageable pageable,
+                                                       List<String> fields) {
+        List<String> selected = new ArrayList<>();
+        selected.add("id");
+        for (String field : fields) {
+            String name = field.trim();
+            if (!SELECTABLE_FIELDS.contains(name)) {
+                throw new InvalidFieldException("Champ inconnu : " + name);
+            }
+            if (!selected.contains(name)) {
+                selected.add(name);
+            }
+        }
+
+        Slice<Long> ids = findIds(search, filter, pageable);
+        Map<Long, Map<String, Object>> byId = repository.findFieldsByIds(ids.getContent(), selected).stream()
+                .collect(Collectors.toMap(row -> (Long) row.get("id"), Function.identity()));
+        return toPage(search, filter, ids, byId);
+    }
 
+    /**
+     * Comptes par ville, pays et société pour la recherche et les filtres courants
+     */
     @Transactional(readOnly = true)
-    public Page<ContactResponseDTO> findAll(String search, Pageable pageable) {
-        return repository.findAllActiveWithSearch(search, pageable)
-                .map(this::toResponseDTO);
+    public FacetsDTO findFacets(String search, ContactFilter filter, int limit) {
+        return facets.facets(search, filter, limit);
+    }
+
+    private Slice<Long> findIds(String search, ContactFilter filter, Pageable pageable) {
+        if (StringUtils.hasText(search) || !filter.isEmpty()) {
+            return searchEngine.search(StringUtils.hasText(search) ? search.trim() : "", filter, pageable);
+        }
+        Pageable sorted = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), DEFAULT_SORT);
+        return repository.findActiveIds(sorted);
+    }
+
+    // Remet les lignes dans l'ordre de la page d'IDs (une ligne supprimée entre-temps est ignorée)
+    private <T> ContactPageDTO<T> toPage(String search, ContactFilter filter, Slice<Long> ids, Map<Long, T> byId) {
+        List<T> content = ids.getContent().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        int size = ids.getSize();
+        long seen = (long) ids.getNumber() * size + ids.getNumberOfElements();
+        long total;
+        boolean exact;
+        if (!ids.hasNext() && (ids.hasContent() || ids.isFirst())) {
+            // Dernière page atteinte : le total se déduit de la position, sans compter
+            total = seen;
+            exact = true;
+        } else {
+            // Le total (maintenu, mis en cache ou estimé) ne peut pas être inférieur à ce que la page prouve
+            ContactCount count = StringUtils.hasText(search) || !filter.isEmpty()
+                    ? counter.countSearch(StringUtils.hasText(search) ? search.trim() : "", filter)
+                    : counter.countActive();
+            total = Math.max(count.value(), ids.hasNext() ? seen + 1 : seen);
+            exact = count.exact() && count.value() == total;
+        }
+
+        return ContactPageDTO.<T>builder()
+                .content(content)
+                .number(ids.getNumber())
+                .size(size)
+                .numberOfElements(content.size())
+                .first(ids.isFirst())
+                .last(!ids.hasNext())
+                .hasNext(ids.hasNext())
+                .totalElements(total)
+                .totalPages(size > 0 ? (int) ((total + size - 1) / size) : 1)
+                .totalExact(exact)
+                .build();
     }
 
+    /**
+     * Page suivante d'un parcours complet par clé (lastName, id) ou (updatedAt, id).
+     * Une seule requête LIMIT n+1, jamais de COUNT : latence constante de la première à la dernière page.
+     */
     @Transactional(readOnly = true)
+    public CursorPageDTO<ContactResponseDTO> findPage(String cursor, ContactCursor.SortKey sortKey, int size) {
+        ContactCursor position = cursor != null && !cursor.isBlank() ? ContactCursor.decode(cursor) : null;
+        ContactCursor.SortKey key = position != null ? position.sortKey() : sortKey;
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<Contact> contacts;
+        if (key == ContactCursor.SortKey.UPDATED_AT) {
+            contacts = position == null
+                    ? repository.findActiveByUpdatedAt(limit)
+                    : repository.findActiveByUpdatedAtAfter(position.updatedAt(), position.id(), limit);
+        } else {
+            contacts = position == null
+                    ? repository.findActiveByLastName(limit)
+                    : repository.findActiveByLastNameAfter(position.lastName(), position.id(), limit);
+        }
+
+        boolean hasMore = contacts.size() > size;
+        List<Contact> page = hasMore ? contacts.subList(0, size) : contacts;
+        String nextCursor = hasMore ? ContactCursor.after(key, page.get(page.size() - 1)).encode() : null;
+
+        return CursorPageDTO.<ContactResponseDTO>builder()
+                .items(page.stream().map(ContactService::toResponseDTO).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Lecture par ID via le cache : pas de transaction (ni de connexion) sur un hit
+     */
     public ContactResponseDTO findById(Long id) {
-        Contact contact = repository.findByIdAndNotDeleted(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Contact non trouvé avec l'ID : " + id));
-        return toResponseDTO(contact);
+        return contactCache.get(id, () -> repository.findByIdAndNotDeleted(id)
+                .map(ContactService::toResponseDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Contact non trouvé avec l'ID : " + id)));
+    }
+
+    /**
+     * Date de dernière modification d'un contact actif, pour valider un ETag ou If-Modified-Since :
+     * lue dans le cache, sinon par la clé primaire sans hydrater l'entité ; null si le contact n'existe pas
+     */
+    public LocalDateTime findLastModified(Long id) {
+        ContactResponseDTO cached = contactCache.getIfPresent(id);
+        if (cached != null) {
+            return cached.getUpdatedAt() != null ? cached.getUpdatedAt() : cached.getCreatedAt();
+        }
+        return repository.findLastModifiedById(id).orElse(null);
+    }
+
+    /**
+     * Version des contacts actifs pour valider les listes, les facettes et l'export : dernier numéro du journal
+     * des modifications, qui avance avec chaque création, modification ou suppression commitée. Une ligne lue
+     * par clé primaire, avant le contenu et sur la même source que lui (réplica s'il y en a un)
+     */
+    @Transactional(readOnly = true)
+    public long findActiveVersion() {
+        return changeLog.lastSeq();
     }
 
     @Transactional
@@ -50,6 +223,10 @@ public class ContactService {
                 .build();
 
         Contact saved = repository.save(contact);
+        counter.adjust(1);
+        suggestIndex.add(saved);
+        facets.added(List.of(ContactFacets.Values.of(saved)));
+        changeLog.record(ChangeOperation.CREATED, saved.getId());
         return toResponseDTO(saved);
     }
 
@@ -57,6 +234,8 @@ public class ContactService {
     public ContactResponseDTO update(Long id, ContactRequestDTO dto) {
         Contact contact = repository.findByIdAndNotDeleted(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Contact non trouvé avec l'ID : " + id));
+        contactCache.evictOnWrite(id);
+        ContactFacets.Values before = ContactFacets.Values.of(contact);
 
         contact.setFirstName(dto.getFirstName());
         contact.setLastName(dto.getLastName());
@@ -73,19 +252,26 @@ public class ContactService {
         contact.setWebsite(dto.getWebsite());
 
         Contact updated = repository.save(contact);
+        suggestIndex.add(updated);
+        facets.changed(List.of(before), List.of(ContactFacets.Values.of(updated)));
+        changeLog.record(ChangeOperation.UPDATED, id);
         return toResponseDTO(updated);
     }
 
     @Transactional
     public void delete(Long id) {
-        Contact contact = repository.findByIdAndNotDeleted(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Contact non trouvé avec l'ID : " + id));
-
-        contact.setIsDeleted(true);
-        repository.save(contact);
+        // Un seul UPDATE conditionnel au lieu de SELECT + UPDATE
+        if (repository.softDelete(id, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Contact non trouvé avec l'ID : " + id);
+        }
+        contactCache.evictOnWrite(id);
+        counter.adjust(-1);
+        suggestIndex.remove(List.of(id));
+        facets.removed(facets.valuesOf(List.of(id)));
+        changeLog.record(ChangeOperation.DELETED, id);
     }
 
-    private ContactResponseDTO toResponseDTO(Contact contact) {
+    static ContactResponseDTO toResponseDTO(Contact contact) {
         return ContactResponseDTO.builder()
                 .id(contact.getId())
                 .firstName(contact.getFirstName())
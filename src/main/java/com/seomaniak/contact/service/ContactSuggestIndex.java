@@ -0,0 +1,502 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.config.BackgroundConnections;
+import com.seomaniak.contact.config.ReadWriteRoutingDataSource;
+import com.seomaniak.contact.model.dto.ContactSuggestionDTO;
+import com.seomaniak.contact.model.dto.SuggestIndexStatsDTO;
+import com.seomaniak.contact.model.entity.Contact;
+import com.seomaniak.contact.repository.ContactRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Index en mémoire de l'autocomplétion : préfixes des prénoms, noms, « prénom nom », emails et sociétés,
+ * normalisés (minuscules, sans accents). Une suggestion ne touche jamais la base.
+ * <p>
+ * Base compacte en tableaux triés parallèles (clé, id) cherchée par dichotomie, plus un delta trié
+ * (skip list) qui reçoit les écritures après commit. Une clé n'est retenue que si elle appartient encore
+ * à la fiche courante du contact : modifications et suppressions n'ont rien à retirer. Les rappels après
+ * commit de deux transactions peuvent s'exécuter dans le désordre : chaque fiche garde le numéro du journal
+ * des modifications de sa transaction (ordre des commits), une suppression laisse une pierre tombale, et
+ * une écriture plus ancienne que la fiche ou la suppression connue est ignorée. Au-delà de
+ * {@code delta-max} changements, la base est reconstruite sur un thread virtuel. Chargée en flux au
+ * démarrage, une fois l'application prête.
+ */
+@Slf4j
+@Component
+public class ContactSuggestIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    // Coût moyen d'une clé du delta : nœud de skip list, index et Key
+    private static final long DELTA_KEY_BYTES = 72;
+    // Pierres tombales gardées au moins ce temps : bien au-delà du retard d'un rappel après commit
+    private static final long TOMBSTONE_TTL_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final ContactRepository repository;
+    private final ContactChangeLog changeLog;
+    private final BackgroundConnections backgroundConnections;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int deltaMax;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Contacts supprimés et numéro de la suppression, modifiés sous le verrou de entries.compute du même id
+    private final Map<Long, Tombstone> tombstones = new ConcurrentHashMap<>();
+    // Écritures : verrou partagé ; bascule du delta avant reconstruction : verrou exclusif, bref
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final AtomicLong changes = new AtomicLong();
+    private volatile State state = new State(Snapshot.EMPTY, new ConcurrentSkipListSet<>(), null);
+    private volatile boolean ready;
+    private volatile long baseBytes;
+    private volatile long lastBuildMs;
+
+    public ContactSuggestIndex(ContactRepository repository, ContactChangeLog changeLog,
+                               BackgroundConnections backgroundConnections, PlatformTransactionManager transactionManager, MeterRegistry registry,
+                               @Value("${contact.suggest.delta-max:10000}") int deltaMax) {
+        this.repository = repository;
+        this.changeLog = changeLog;
+        this.backgroundConnections = backgroundConnections;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.deltaMax = Math.max(1, deltaMax);
+
+        Gauge.builder("contact.suggest.index.bytes", this, ContactSuggestIndex::estimatedBytes)
+                .description("Empreinte mémoire estimée de l'index d'autocomplétion")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("contact.suggest.index.keys", this, ContactSuggestIndex::keyCount)
+                .description("Clés de l'index d'autocomplétion (base et delta)")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread.ofVirtual().name("suggest-index-load").start(this::load);
+    }
+
+    void load() {
+        long start = System.nanoTime();
+        try {
+            // Sur le primaire : une suppression appliquée avant le chargement ne doit pas revenir d'un réplica en retard
+            backgroundConnections.run(() -> ReadWriteRoutingDataSource.onPrimary(this::loadRows));
+        } catch (RuntimeException e) {
+            log.warn("Chargement de l'index d'autocomplétion incomplet : {}", e.getMessage());
+        }
+        rebuild();
+        ready = true;
+        log.info("Index d'autocomplétion : {} contacts, {} clés, ~{} Ko, chargé en {} ms", entries.size(),
+                keyCount(), estimatedBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Au plus {@code limit} contacts actifs dont un prénom, nom, « prénom nom », email ou société
+     * commence par {@code query} (casse et accents ignorés), dans l'ordre alphabétique de la clé trouvée
+     */
+    @Timed("contact.suggest")
+    public List<ContactSuggestionDTO> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        State current = state;
+        Key from = new Key(prefix, Long.MIN_VALUE);
+        // Meilleure clé de chaque contact, parmi les premiers contacts de chaque source
+        Map<Long, String> best = new HashMap<>();
+        collect(current.base().from(prefix), prefix, limit, best);
+        collect(current.delta().tailSet(from).iterator(), prefix, limit, best);
+        if (current.previous() != null) {
+            collect(current.previous().tailSet(from).iterator(), prefix, limit, best);
+        }
+
+        List<ContactSuggestionDTO> suggestions = new ArrayList<>(Math.min(limit, best.size()));
+        best.entrySet().stream()
+                .sorted(Map.Entry.<Long, String>comparingByValue().thenComparing(Map.Entry.<Long, String>comparingByKey()))
+                .forEach(match -> {
+                    Entry entry = entries.get(match.getKey());
+                    if (entry != null && suggestions.size() < limit) {
+                        suggestions.add(entry.toDTO(match.getKey()));
+                    }
+                });
+        return suggestions;
+    }
+
+    /**
+     * Contacts créés ou modifiés ; appliqué au commit de la transaction courante
+     */
+    public void add(Collection<ContactSuggestionDTO> contacts) {
+        if (!contacts.isEmpty()) {
+            afterCommit(version -> apply(contacts, version));
+        }
+    }
+
+    public void add(Contact contact) {
+        add(List.of(toSuggestion(contact)));
+    }
+
+    /**
+     * Contacts supprimés ; appliqué au commit de la transaction courante
+     */
+    public void remove(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            afterCommit(version -> applyRemove(ids, version));
+        }
+    }
+
+    public SuggestIndexStatsDTO stats() {
+        State current = state;
+        return SuggestIndexStatsDTO.builder()
+                .ready(ready)
+                .contacts(entries.size())
+                .keys(keyCount())
+                .pendingChanges(current.delta().size() + (current.previous() != null ? current.previous().size() : 0))
+                .estimatedBytes(estimatedBytes())
+                .lastBuildMs(lastBuildMs)
+                .build();
+    }
+
+    public static ContactSuggestionDTO toSuggestion(Contact contact) {
+        return new ContactSuggestionDTO(contact.getId(), contact.getFirstName(), contact.getLastName(),
+                contact.getEmail(), contact.getCompany());
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return stripped.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private void collect(Iterator<Key> keys, String prefix, int limit, Map<Long, String> best) {
+        Set<Long> seen = new HashSet<>();
+        while (keys.hasNext() && seen.size() < limit) {
+            Key key = keys.next();
+            if (!key.text().startsWith(prefix)) {
+                break;
+            }
+            Entry entry = entries.get(key.id());
+            if (entry != null && entry.has(key.text()) && seen.add(key.id())) {
+                best.merge(key.id(), key.text(), (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+    }
+
+    /**
+     * @param version numéro du journal de la transaction qui a écrit ces contacts (0 : inconnu, appliqué sauf si le contact est marqué supprimé)
+     */
+    void apply(Collection<ContactSuggestionDTO> contacts, long version) {
+        swapLock.readLock().lock();
+        try {
+            NavigableSet<Key> delta = state.delta();
+            for (ContactSuggestionDTO contact : contacts) {
+                Entry entry = put(contact, version);
+                if (entry != null) {
+                    for (String key : entry.keys()) {
+                        delta.add(new Key(key, contact.getId()));
+                    }
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        changed(contacts.size());
+    }
+
+    void applyRemove(Collection<Long> ids, long version) {
+        long now = System.nanoTime();
+        for (Long id : ids) {
+            entries.compute(id, (key, current) -> {
+                if (version != 0 && current != null && current.version() > version) {
+                    // Recréé (restauration) par une transaction commitée après cette suppression
+                    return current;
+                }
+                tombstones.merge(key, new Tombstone(version, now),
+                        (stored, removed) -> stored.version() >= removed.version() ? stored : removed);
+                return null;
+            });
+        }
+        changed(ids.size());
+    }
+
+    // Fiche enregistrée, ou null si une écriture ou une suppression plus récente est déjà connue
+    private Entry put(ContactSuggestionDTO contact, long version) {
+        Entry[] applied = new Entry[1];
+        entries.compute(contact.getId(), (id, current) -> {
+            Tombstone tombstone = tombstones.get(id);
+            if (version == 0) {
+                // Écriture hors transaction : rien ne prouve qu'elle suit la suppression connue
+                if (tombstone != null) {
+                    return current;
+                }
+            } else if (current != null && current.version() > version
+                    || tombstone != null && tombstone.version() > version) {
+                return current;
+            } else {
+                tombstones.remove(id);
+            }
+            applied[0] = Entry.of(contact, version);
+            return applied[0];
+        });
+        return applied[0];
+    }
+
+    private void loadRows() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            // Lu avant les lignes : chacune est au moins aussi récente que ce numéro. Une écriture de numéro
+            // supérieur appliquée pendant le chargement est gardée (sa version la plus récente suivra)
+            long version = changeLog.lastSeq();
+            try (Stream<ContactSuggestionDTO> rows = repository.streamSuggestions()) {
+                rows.forEach(row -> put(row, version));
+            }
+        });
+    }
+
+    private void changed(int count) {
+        if (changes.addAndGet(count) > deltaMax && ready && rebuildScheduled.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("suggest-index-rebuild").start(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    rebuildScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Nouvelle base à partir des fiches courantes ; les écritures concurrentes vont dans un delta neuf,
+     * l'ancien reste consulté jusqu'à la bascule
+     */
+    void rebuild() {
+        rebuildLock.lock();
+        try {
+            long start = System.nanoTime();
+            NavigableSet<Key> fresh = new ConcurrentSkipListSet<>();
+            swapLock.writeLock().lock();
+            try {
+                state = new State(state.base(), fresh, state.delta());
+                changes.set(0);
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+
+            long[] bytes = {0};
+            List<Key> keys = new ArrayList<>(entries.size() * 4);
+            entries.forEach((id, entry) -> {
+                bytes[0] += entry.estimatedBytes();
+                for (String key : entry.keys()) {
+                    keys.add(new Key(key, id));
+                }
+            });
+            Snapshot base = Snapshot.of(keys);
+            state = new State(base, fresh, null);
+            baseBytes = bytes[0] + base.estimatedBytes();
+            long now = System.nanoTime();
+            tombstones.values().removeIf(tombstone -> now - tombstone.removedAt() > TOMBSTONE_TTL_NANOS);
+            lastBuildMs = (System.nanoTime() - start) / 1_000_000;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private long keyCount() {
+        State current = state;
+        return current.base().size() + current.delta().size()
+                + (current.previous() != null ? current.previous().size() : 0);
+    }
+
+    private long estimatedBytes() {
+        State current = state;
+        long pending = current.delta().size() + (current.previous() != null ? current.previous().size() : 0);
+        return baseBytes + pending * DELTA_KEY_BYTES;
+    }
+
+    // Reçoit le numéro du journal attribué à la transaction, connu une fois le commit fait
+    private void afterCommit(LongConsumer action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.accept(changeLog.transactionSeq());
+                }
+            });
+        } else {
+            action.accept(0);
+        }
+    }
+
+    // Ordres de grandeur JVM 64 bits à références compressées : String 24 octets + tableau 16 + contenu
+    private static long stringBytes(String value) {
+        return value == null ? 0 : align(40L + value.length());
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Fiche d'un contact telle que suggérée, avec ses clés normalisées (partagées avec la base)
+     */
+    private record Entry(String firstName, String lastName, String email, String company, String[] keys,
+                         long version) {
+
+        static Entry of(ContactSuggestionDTO contact, long version) {
+            String fullName = (nullToEmpty(contact.getFirstName()) + " " + nullToEmpty(contact.getLastName()));
+            String[] keys = Stream.of(contact.getFirstName(), contact.getLastName(), fullName,
+                            contact.getEmail(), contact.getCompany())
+                    .map(ContactSuggestIndex::normalize)
+                    .filter(key -> !key.isEmpty())
+                    .distinct()
+                    .toArray(String[]::new);
+            return new Entry(contact.getFirstName(), contact.getLastName(), contact.getEmail(),
+                    contact.getCompany(), keys, version);
+        }
+
+        boolean has(String key) {
+            for (String own : keys) {
+                if (own.equals(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        ContactSuggestionDTO toDTO(Long id) {
+            return new ContactSuggestionDTO(id, firstName, lastName, email, company);
+        }
+
+        // Nœud de ConcurrentHashMap, Long, Entry, tableau de clés et chaînes
+        long estimatedBytes() {
+            long bytes = 32 + 16 + 40 + align(16L + 4L * keys.length);
+            bytes += stringBytes(firstName) + stringBytes(lastName) + stringBytes(email) + stringBytes(company);
+            for (String key : keys) {
+                bytes += stringBytes(key);
+            }
+            return bytes;
+        }
+
+        private static String nullToEmpty(String value) {
+            return value != null ? value : "";
+        }
+    }
+
+    /**
+     * @param removedAt System.nanoTime() de la suppression, pour la purge des pierres tombales anciennes
+     */
+    private record Tombstone(long version, long removedAt) {
+    }
+
+    private record Key(String text, long id) implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::text).thenComparingLong(Key::id);
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Clés triées en deux tableaux parallèles : une référence et un long par clé
+     */
+    private record Snapshot(String[] keys, long[] ids) {
+
+        static final Snapshot EMPTY = new Snapshot(new String[0], new long[0]);
+
+        static Snapshot of(List<Key> unsorted) {
+            Key[] sorted = unsorted.toArray(Key[]::new);
+            Arrays.parallelSort(sorted);
+            String[] keys = new String[sorted.length];
+            long[] ids = new long[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                keys[i] = sorted[i].text();
+                ids[i] = sorted[i].id();
+            }
+            return new Snapshot(keys, ids);
+        }
+
+        int size() {
+            return keys.length;
+        }
+
+        long estimatedBytes() {
+            return align(16L + 4L * keys.length) + align(16L + 8L * ids.length);
+        }
+
+        // Clés à partir de la première >= prefix (dichotomie)
+        Iterator<Key> from(String prefix) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle].compareTo(prefix) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            int start = low;
+            return new Iterator<>() {
+                private int position = start;
+
+                @Override
+                public boolean hasNext() {
+                    return position < keys.length;
+                }
+
+                @Override
+                public Key next() {
+                    if (position >= keys.length) {
+                        throw new NoSuchElementException();
+                    }
+                    Key key = new Key(keys[position], ids[position]);
+                    position++;
+                    return key;
+                }
+            };
+        }
+    }
+
+    /**
+     * @param previous delta figé pendant une reconstruction, encore consulté jusqu'à la bascule
+     */
+    private record State(Snapshot base, NavigableSet<Key> delta, NavigableSet<Key> previous) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.seomaniak.contact.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Position de chaque champ du contact dans un fichier CSV, résolue une fois par fichier
+ * à partir de l'en-tête (libellés français de l'export ou noms anglais).
+ * Si l'en-tête n'est pas reconnu, on retombe sur l'ordre historique de l'import.
+ */
+final class CsvColumns {
+
+    enum Field {
+        FIRST_NAME("prenom", "firstname"),
+        LAST_NAME("nom", "lastname"),
+        EMAIL("email", "mail", "courriel"),
+        PHONE("telephone", "tel", "phone"),
+        COMPANY("societe", "entreprise", "company"),
+        JOB_TITLE("poste", "fonction", "jobtitle"),
+        ADDRESS("adresse", "address"),
+        CITY("ville", "city"),
+        POSTAL_CODE("codepostal", "cp", "postalcode", "zip"),
+        COUNTRY("pays", "country"),
+        BIRTHDAY("datedenaissance", "naissance", "birthday"),
+        WEBSITE("siteweb", "site", "website"),
+        NOTES("notes", "note");
+
+        private final String[] aliases;
+
+        Field(String... aliases) {
+            this.aliases = aliases;
+        }
+    }
+
+    private static final Map<String, Field> ALIASES = new HashMap<>();
+
+    static {
+        for (Field field : Field.values()) {
+            for (String alias : field.aliases) {
+                ALIASES.put(alias, field);
+            }
+        }
+    }
+
+    // Ordre historique : prénom, nom, email, téléphone, société, poste, adresse, ville,
+    // code postal, pays, (colonne ignorée), date de naissance, site web, notes
+    static final CsvColumns LEGACY = new CsvColumns(new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 11, 12, 13});
+
+    private final int[] positions;
+    // Champs présents dans le fichier (ordinals), et rang de chacun parmi eux (-1 si absent)
+    private final int[] mapped;
+    private final int[] slots;
+
+    private CsvColumns(int[] positions) {
+        this.positions = positions;
+        this.mapped = new int[(int) Arrays.stream(positions).filter(position -> position >= 0).count()];
+        this.slots = new int[positions.length];
+        int slot = 0;
+        for (int i = 0; i < positions.length; i++) {
+            slots[i] = positions[i] >= 0 ? slot : -1;
+            if (positions[i] >= 0) {
+                mapped[slot++] = i;
+            }
+        }
+    }
+
+    /**
+     * Résout les colonnes depuis l'enregistrement d'en-tête courant du tokenizer
+     */
+    static CsvColumns fromHeader(CsvTokenizer header) {
+        int[] positions = new int[Field.values().length];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < header.fieldCount(); i++) {
+            String label = header.field(i);
+            Field field = label == null ? null : ALIASES.get(normalize(label));
+            if (field != null && positions[field.ordinal()] < 0) {
+                positions[field.ordinal()] = i;
+            }
+        }
+
+        boolean recognized = positions[Field.FIRST_NAME.ordinal()] >= 0
+                && positions[Field.LAST_NAME.ordinal()] >= 0
+                && positions[Field.EMAIL.ordinal()] >= 0;
+        return recognized ? new CsvColumns(positions) : LEGACY;
+    }
+
+    /**
+     * Bloc d'enregistrements à transmettre à un autre thread (le tokenizer réutilise son tampon).
+     * <p>
+     * Seuls les champs présents dans l'en-tête sont recopiés, bout à bout dans un tampon propre au bloc,
+     * sans espaces de début/fin : pas de tableau ni de String par enregistrement au moment de la copie.
+     * Les String sont créées à la lecture par {@link #value(int, Field)}, sur le thread qui les consomme.
+     */
+    static final class Records {
+
+        private final CsvColumns columns;
+        private char[] chars;
+        private int length;
+        // Début et fin de chaque champ recopié, deux entrées par champ et par enregistrement
+        private int[] bounds;
+        private int size;
+
+        Records(CsvColumns columns, int capacity) {
+            this.columns = columns;
+            this.chars = new char[Math.max(16, capacity * 8 * columns.mapped.length)];
+            this.bounds = new int[Math.max(2, capacity * 2 * columns.mapped.length)];
+        }
+
+        /**
+         * Recopie les champs retenus de l'enregistrement courant du tokenizer
+         */
+        void add(CsvTokenizer record) {
+            int[] mapped = columns.mapped;
+            int at = size * 2 * mapped.length;
+            if (at + 2 * mapped.length > bounds.length) {
+                bounds = Arrays.copyOf(bounds, Math.max(bounds.length * 2, at + 2 * mapped.length));
+            }
+            for (int field : mapped) {
+                int position = columns.positions[field];
+                int start = length;
+                if (position < record.fieldCount()) {
+                    int from = record.fieldStart(position);
+                    int count = record.fieldEnd(position) - from;
+                    if (length + count > chars.length) {
+                        chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + count));
+                    }
+                    System.arraycopy(record.buffer(), from, chars, length, count);
+                    length += count;
+                }
+                bounds[at++] = start;
+                bounds[at++] = length;
+            }
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Valeur du champ dans l'enregistrement {@code index} du bloc, null si vide ou absent
+         */
+        String value(int index, Field field) {
+            int slot = columns.slots[field.ordinal()];
+            if (slot < 0) {
+                return null;
+            }
+            int at = (index * columns.mapped.length + slot) * 2;
+            int start = bounds[at];
+            int end = bounds[at + 1];
+            return start == end ? null : new String(chars, start, end - start);
+        }
+    }
+
+    private static String normalize(String label) {
+        String stripped = Normalizer.normalize(label, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(stripped.length());
+        for (int i = 0; i < stripped.length(); i++) {
+            char c = stripped.charAt(i);
+            if (Character.isLetterOrDigit(c) && c < 128) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,97 @@
+package com.seomaniak.contact.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métriques de débit CSV : compteurs cumulés (lignes, octets) pour les rate() Prometheus
+ * et jauges du débit de la dernière opération (lignes/s, octets/s)
+ */
+@Component
+public class CsvMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter importRows;
+    private final Counter importRejected;
+    private final Counter importBytes;
+    private final Counter exportRows;
+    private final Counter exportBytes;
+
+    private final AtomicLong importRowsPerSecond = new AtomicLong();
+    private final AtomicLong importBytesPerSecond = new AtomicLong();
+    private final AtomicLong exportRowsPerSecond = new AtomicLong();
+    private final AtomicLong exportBytesPerSecond = new AtomicLong();
+
+    public CsvMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.importRows = counter(registry, "contact.csv.rows", "import", "Lignes CSV importées");
+        this.importRejected = counter(registry, "contact.csv.rejected", "import", "Lignes CSV rejetées");
+        this.importBytes = counter(registry, "contact.csv.bytes", "import", "Octets CSV lus");
+        this.exportRows = counter(registry, "contact.csv.rows", "export", "Lignes CSV exportées");
+        this.exportBytes = counter(registry, "contact.csv.bytes", "export", "Octets CSV écrits");
+
+        gauge(registry, "contact.csv.rows.per.second", "import", importRowsPerSecond);
+        gauge(registry, "contact.csv.bytes.per.second", "import", importBytesPerSecond);
+        gauge(registry, "contact.csv.rows.per.second", "export", exportRowsPerSecond);
+        gauge(registry, "contact.csv.bytes.per.second", "export", exportBytesPerSecond);
+    }
+
+    public void recordImportChunk(int rows, long elapsedNanos) {
+        importRows.increment(rows);
+        importRowsPerSecond.set(perSecond(rows, elapsedNanos));
+    }
+
+    public void recordImportRejected(long rows) {
+        importRejected.increment(rows);
+    }
+
+    /**
+     * Lignes traitées et temps d'activité / d'attente d'un étage du pipeline d'import :
+     * l'étage dont le temps bloqué est nul et le temps actif maximal est le goulot
+     */
+    public void recordImportStage(String stage, long rows, long busyNanos, long blockedNanos) {
+        stageCounter("contact.csv.import.stage.rows", stage, null).increment(rows);
+        stageCounter("contact.csv.import.stage.busy", stage, "seconds").increment(busyNanos / 1e9);
+        stageCounter("contact.csv.import.stage.blocked", stage, "seconds").increment(blockedNanos / 1e9);
+    }
+
+    public void recordImportBytes(long bytes, long elapsedNanos) {
+        importBytes.increment(bytes);
+        importBytesPerSecond.set(perSecond(bytes, elapsedNanos));
+    }
+
+    public void recordExport(long rows, long bytes, long elapsedNanos) {
+        exportRows.increment(rows);
+        exportBytes.increment(bytes);
+        exportRowsPerSecond.set(perSecond(rows, elapsedNanos));
+        exportBytesPerSecond.set(perSecond(bytes, elapsedNanos));
+    }
+
+    private static long perSecond(long amount, long elapsedNanos) {
+        return Math.round(amount * 1_000_000_000d / Math.max(elapsedNanos, 1));
+    }
+
+    private Counter stageCounter(String name, String stage, String baseUnit) {
+        return Counter.builder(name)
+                .tag("stage", stage)
+                .baseUnit(baseUnit)
+                .register(registry);
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String operation, String description) {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .description(description)
+                .register(registry);
+    }
+
+    private static void gauge(MeterRegistry registry, String name, String operation, AtomicLong value) {
+        Gauge.builder(name, value, AtomicLong::get)
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
@@ -1,165 +1,293 @@
 package com.seomaniak.contact.service;
 
+import com.seomaniak.contact.model.dto.ContactRequestDTO;
+import com.seomaniak.contact.model.dto.ImportReportDTO;
 import com.seomaniak.contact.model.entity.Contact;
 import com.seomaniak.contact.repository.ContactRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @Service
+@Timed("contact.csv")
 public class CsvService {
 
     private final ContactRepository contactRepository;
+    private final EntityManager entityManager;
+    private final ContactBatchWriter batchWriter;
+    private final CsvMetrics csvMetrics;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int parseThreads;
+    private final int writerThreads;
+    private final int pipelineQueueCapacity;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
     private static final DateTimeFormatter DATE_ONLY_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
 
-    public CsvService(ContactRepository contactRepository) {
+    // Header avec séparateur point-virgule pour Excel français
+    static final String CSV_HEADER = "ID;Prénom;Nom;Email;Téléphone;Société;Poste;Adresse;Ville;Code postal;Pays;Date de naissance;Site web;Notes;Date de création;Date de modification\n";
+    private static final char CSV_SEPARATOR = ';';
+    private static final int WRITE_BUFFER_SIZE = 16 * 1024;
+
+    public CsvService(ContactRepository contactRepository, EntityManager entityManager,
+                      ContactBatchWriter batchWriter, CsvMetrics csvMetrics, Validator validator,
+                      @Value("${contact.import.chunk-size:1000}") int chunkSize,
+                      @Value("${contact.import.pipeline.parse-threads:0}") int parseThreads,
+                      @Value("${contact.import.pipeline.writer-threads:2}") int writerThreads,
+                      @Value("${contact.import.pipeline.queue-capacity:8}") int pipelineQueueCapacity) {
         this.contactRepository = contactRepository;
+        this.entityManager = entityManager;
+        this.batchWriter = batchWriter;
+        this.csvMetrics = csvMetrics;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        // 0 : un thread d'analyse par cœur, hors thread de lecture
+        this.parseThreads = parseThreads > 0 ? parseThreads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.writerThreads = Math.max(1, writerThreads);
+        this.pipelineQueueCapacity = Math.max(1, pipelineQueueCapacity);
     }
 
     /**
-     * Exporte tous les contacts en CSV (format Excel français avec point-virgule)
+     * Exporte les contacts actifs dans le format demandé, éventuellement compressé en gzip,
+     * directement dans le flux de sortie : lecture par curseur JDBC, écriture et compression
+     * contact par contact, la mémoire reste constante quel que soit le volume.
      */
-    public String exportToCsv() {
-        List<Contact> contacts = contactRepository.findByIsDeletedFalse();
-        StringBuilder csv = new StringBuilder();
-        
-        // Header avec séparateur point-virgule pour Excel français
-        csv.append("ID;Prénom;Nom;Email;Téléphone;Société;Poste;Adresse;Ville;Code postal;Pays;Date de naissance;Site web;Notes;Date de création;Date de modification\n");
-        
-        // Data
-        for (Contact contact : contacts) {
-            // Utiliser ="..." pour forcer Excel à traiter le téléphone comme texte
-            String phone = contact.getPhone() != null ? "=\"" + contact.getPhone() + "\"" : "";
-            String birthday = contact.getBirthday() != null ? contact.getBirthday().format(DATE_ONLY_FORMATTER) : "";
-            
-            csv.append(String.format("%d;%s;%s;%s;%s;%s;%s;%s;%s;%s;%s;%s;%s;%s;%s;%s\n",
-                contact.getId(),
-                escapeSpecialCharacters(contact.getFirstName()),
-                escapeSpecialCharacters(contact.getLastName()),
-                escapeSpecialCharacters(contact.getEmail()),
-                phone,
-                escapeSpecialCharacters(contact.getCompany()),
-                escapeSpecialCharacters(contact.getJobTitle()),
-                escapeSpecialCharacters(contact.getAddress()),
-                escapeSpecialCharacters(contact.getCity()),
-                escapeSpecialCharacters(contact.getPostalCode()),
-                escapeSpecialCharacters(contact.getCountry()),
-                birthday,
-                escapeSpecialCharacters(contact.getWebsite()),
-                escapeSpecialCharacters(contact.getNotes()),
-                contact.getCreatedAt() != null ? contact.getCreatedAt().format(DATE_FORMATTER) : "",
-                contact.getUpdatedAt() != null ? contact.getUpdatedAt().format(DATE_FORMATTER) : ""
-            ));
-        }
-        
-        return csv.toString();
+    @Transactional(readOnly = true)
+    public void export(OutputStream out, ExportFormat format, boolean gzip) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        // Octets réellement envoyés (compressés le cas échéant)
+        CountingOutputStream counting = new CountingOutputStream(out);
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(counting, WRITE_BUFFER_SIZE) : null;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(compressed != null ? compressed : counting,
+                StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        format.writeHeader(writer);
+
+        try (Stream<Contact> contacts = contactRepository.streamAllActive()) {
+            Iterator<Contact> iterator = contacts.iterator();
+            while (iterator.hasNext()) {
+                Contact contact = iterator.next();
+                format.writeRow(writer, contact);
+                rows++;
+                // Détacher l'entité pour que le contexte de persistance ne grossisse pas
+                entityManager.detach(contact);
+            }
+        }
+
+        writer.flush();
+        if (compressed != null) {
+            // Fin du flux gzip (bloc final + CRC) sans fermer la réponse
+            compressed.finish();
+        }
+        csvMetrics.recordExport(rows, counting.getCount(), System.nanoTime() - start);
     }
 
     /**
-     * Importe des contacts depuis un fichier CSV
+     * Écrit une ligne CSV sans passer par String.format
      */
-    public int importFromCsv(MultipartFile file) throws IOException {
-        List<Contact> contacts = new ArrayList<>();
-        
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            
-            String line;
-            boolean isFirstLine = true;
-            
-            while ((line = reader.readLine()) != null) {
-                // Skip header
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue;
-                }
-                
-                // Parse CSV line
-                String[] values = parseCsvLine(line);
-                
-                if (values.length >= 3) { // Au minimum: prénom, nom, email
-                    LocalDate birthday = null;
-                    if (values.length > 11 && !values[11].trim().isEmpty()) {
-                        try {
-                            birthday = LocalDate.parse(values[11].trim(), DATE_ONLY_FORMATTER);
-                        } catch (DateTimeParseException e) {
-                            // Ignorer les dates invalides
-                        }
-                    }
-                    
-                    Contact contact = Contact.builder()
-                        .firstName(values[0].trim())
-                        .lastName(values[1].trim())
-                        .email(values[2].trim())
-                        .phone(values.length > 3 && !values[3].trim().isEmpty() ? values[3].trim() : null)
-                        .company(values.length > 4 && !values[4].trim().isEmpty() ? values[4].trim() : null)
-                        .jobTitle(values.length > 5 && !values[5].trim().isEmpty() ? values[5].trim() : null)
-                        .address(values.length > 6 && !values[6].trim().isEmpty() ? values[6].trim() : null)
-                        .city(values.length > 7 && !values[7].trim().isEmpty() ? values[7].trim() : null)
-                        .postalCode(values.length > 8 && !values[8].trim().isEmpty() ? values[8].trim() : null)
-                        .country(values.length > 9 && !values[9].trim().isEmpty() ? values[9].trim() : null)
-                        .birthday(birthday)
-                        .website(values.length > 12 && !values[12].trim().isEmpty() ? values[12].trim() : null)
-                        .notes(values.length > 13 && !values[13].trim().isEmpty() ? values[13].trim() : null)
-                        .createdAt(LocalDateTime.now())
-                        .isDeleted(false)
-                        .build();
-                    
-                    contacts.add(contact);
-                }
-            }
+    static void writeCsvRow(Writer writer, Contact contact) throws IOException {
+        writer.write(String.valueOf(contact.getId()));
+        writeField(writer, contact.getFirstName());
+        writeField(writer, contact.getLastName());
+        writeField(writer, contact.getEmail());
+        writer.write(CSV_SEPARATOR);
+        // Utiliser ="..." pour forcer Excel à traiter le téléphone comme texte
+        if (contact.getPhone() != null) {
+            writer.write("=\"");
+            writer.write(contact.getPhone());
+            writer.write('"');
+        }
+        writeField(writer, contact.getCompany());
+        writeField(writer, contact.getJobTitle());
+        writeField(writer, contact.getAddress());
+        writeField(writer, contact.getCity());
+        writeField(writer, contact.getPostalCode());
+        writeField(writer, contact.getCountry());
+        writer.write(CSV_SEPARATOR);
+        if (contact.getBirthday() != null) {
+            writer.write(contact.getBirthday().format(DATE_ONLY_FORMATTER));
+        }
+        writeField(writer, contact.getWebsite());
+        writeField(writer, contact.getNotes());
+        writer.write(CSV_SEPARATOR);
+        if (contact.getCreatedAt() != null) {
+            writer.write(contact.getCreatedAt().format(DATE_FORMATTER));
+        }
+        writer.write(CSV_SEPARATOR);
+        if (contact.getUpdatedAt() != null) {
+            writer.write(contact.getUpdatedAt().format(DATE_FORMATTER));
+        }
+        writer.write('\n');
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        writer.write(CSV_SEPARATOR);
+        writer.write(escapeSpecialCharacters(value));
+    }
+
+    /**
+     * Importe des contacts par lots de {@code contact.import.chunk-size} lignes,
+     * chaque lot étant validé dans sa propre transaction (doublons rejetés)
+     */
+    public ImportReportDTO importFromCsv(InputStream in) throws IOException {
+        return importFromCsv(in, DuplicatePolicy.REJECT, new ImportProgress(), ImportRejectReport.discarding());
+    }
+
+    /**
+     * Idem, avec la politique de doublons choisie, en publiant l'avancement ligne par ligne
+     * dans {@code progress} et les lignes écartées dans {@code rejects}.
+     * Lecture, validation et écriture s'exécutent en parallèle ({@link ImportPipeline}).
+     */
+    public ImportReportDTO importFromCsv(InputStream in, DuplicatePolicy policy, ImportProgress progress,
+                                         ImportRejectReport rejects) throws IOException {
+        long start = System.nanoTime();
+        ImportPipeline pipeline = new ImportPipeline(batchWriter, validator, csvMetrics, policy, progress, rejects,
+                chunkSize, parseThreads, writerThreads, pipelineQueueCapacity);
+
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            CsvTokenizer tokenizer = new CsvTokenizer(reader);
+            // L'en-tête fixe le séparateur et la position des colonnes pour tout le fichier
+            CsvColumns columns = tokenizer.nextRecord() ? CsvColumns.fromHeader(tokenizer) : CsvColumns.LEGACY;
+            pipeline.run(tokenizer, columns);
         }
-        
-        // Sauvegarder tous les contacts
-        contactRepository.saveAll(contacts);
-        return contacts.size();
+
+        long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+        return ImportReportDTO.builder()
+                .duplicatePolicy(policy.name())
+                .rowsParsed(progress.getRowsParsed())
+                .rowsInserted(progress.getRowsInserted())
+                .rowsUpdated(progress.getRowsUpdated())
+                .rowsSkipped(progress.getRowsSkipped())
+                .rowsRejected(progress.getRowsRejected())
+                .durationMs(elapsedNanos / 1_000_000)
+                .rowsPerSecond((progress.getRowsInserted() + progress.getRowsUpdated()) * 1_000_000_000d / elapsedNanos)
+                .chunks(pipeline.getChunks())
+                .stages(pipeline.getStages())
+                .build();
     }
 
     /**
-     * Parse une ligne CSV en tenant compte des guillemets (supporte virgule ET point-virgule)
+     * Normalise l'enregistrement {@code index} d'un bloc en requête validable comme le formulaire,
+     * ou null si prénom, nom ou email manquent
      */
-    private String[] parseCsvLine(String line) {
-        List<String> values = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-        
-        // Détecter le séparateur (point-virgule ou virgule)
-        char separator = line.contains(";") ? ';' : ',';
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == separator && !inQuotes) {
-                values.add(current.toString());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
+    static ContactRequestDTO toRequest(CsvColumns.Records records, int index) {
+        String firstName = records.value(index, CsvColumns.Field.FIRST_NAME);
+        String lastName = records.value(index, CsvColumns.Field.LAST_NAME);
+        String email = records.value(index, CsvColumns.Field.EMAIL);
+        if (firstName == null || lastName == null || email == null) {
+            return null;
+        }
+
+        LocalDate birthday = null;
+        String birthdayValue = records.value(index, CsvColumns.Field.BIRTHDAY);
+        if (birthdayValue != null) {
+            try {
+                birthday = LocalDate.parse(birthdayValue, DATE_ONLY_FORMATTER);
+            } catch (DateTimeParseException e) {
+                // Ignorer les dates invalides
             }
         }
-        
-        values.add(current.toString());
-        return values.toArray(new String[0]);
+
+        // L'export écrit le téléphone sous la forme ="..." pour Excel
+        String phone = records.value(index, CsvColumns.Field.PHONE);
+        if (phone != null && phone.startsWith("=")) {
+            phone = phone.length() > 1 ? phone.substring(1) : null;
+        }
+
+        return ContactRequestDTO.builder()
+            .firstName(firstName)
+            .lastName(lastName)
+            // Emails normalisés : les doublons sont détectés sans tenir compte de la casse
+            .email(email.toLowerCase(Locale.ROOT))
+            .phone(phone)
+            .company(records.value(index, CsvColumns.Field.COMPANY))
+            .jobTitle(records.value(index, CsvColumns.Field.JOB_TITLE))
+            .address(records.value(index, CsvColumns.Field.ADDRESS))
+            .city(records.value(index, CsvColumns.Field.CITY))
+            .postalCode(records.value(index, CsvColumns.Field.POSTAL_CODE))
+            .country(records.value(index, CsvColumns.Field.COUNTRY))
+            .birthday(birthday)
+            .website(records.value(index, CsvColumns.Field.WEBSITE))
+            .notes(records.value(index, CsvColumns.Field.NOTES))
+            .build();
+    }
+
+    static Contact toContact(ContactRequestDTO request) {
+        return Contact.builder()
+            .firstName(request.getFirstName())
+            .lastName(request.getLastName())
+            .email(request.getEmail())
+            .phone(request.getPhone())
+            .company(request.getCompany())
+            .jobTitle(request.getJobTitle())
+            .address(request.getAddress())
+            .city(request.getCity())
+            .postalCode(request.getPostalCode())
+            .country(request.getCountry())
+            .birthday(request.getBirthday())
+            .website(request.getWebsite())
+            .notes(request.getNotes())
+            .isDeleted(false)
+            .build();
     }
 
     /**
-     * Échappe les caractères spéciaux pour CSV
+     * Échappe un champ CSV : entouré de guillemets (guillemets internes doublés) s'il contient
+     * le séparateur, un guillemet ou un retour à la ligne, tel quel sinon
      */
-    private String escapeSpecialCharacters(String data) {
+    static String escapeSpecialCharacters(String data) {
         if (data == null) {
             return "";
         }
-        String escapedData = data.replaceAll("\"", "\"\"");
-        return escapedData;
+        // Pas de regex : la plupart des champs ne contiennent aucun caractère spécial
+        for (int i = 0; i < data.length(); i++) {
+            char c = data.charAt(i);
+            if (c == CSV_SEPARATOR || c == '"' || c == '\n' || c == '\r') {
+                return '"' + data.replace("\"", "\"\"") + '"';
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Compte les octets réellement écrits dans la réponse
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
     }
 }
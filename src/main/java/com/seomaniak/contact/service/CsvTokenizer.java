@@ -0,0 +1,244 @@
+package com.seomaniak.contact.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Lecteur CSV en flux, par enregistrement.
+ * <p>
+ * Le séparateur ({@code ;} ou {@code ,}) est détecté une seule fois sur la première ligne.
+ * Guillemets à la RFC 4180 : {@code ""} dans un champ entre guillemets donne un guillemet,
+ * et les retours à la ligne entre guillemets font partie du champ. Comme l'ancien parseur,
+ * un guillemet en milieu de champ ouvre/ferme aussi une zone protégée (cas du {@code ="..."} Excel).
+ * <p>
+ * Chaque enregistrement est recopié (guillemets retirés) dans un tampon réutilisé ;
+ * les champs sont exposés par positions dans ce tampon, une String n'étant créée
+ * qu'à la demande via {@link #field(int)}.
+ */
+public class CsvTokenizer {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[READ_BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    private char separator;
+    private boolean dialectDetected;
+
+    private char[] record = new char[1024];
+    private int recordLength;
+    private int[] starts = new int[32];
+    private int[] ends = new int[32];
+    private int fieldCount;
+
+    public CsvTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Passe à l'enregistrement suivant ; false en fin de fichier. Les lignes vides sont ignorées.
+     */
+    public boolean nextRecord() throws IOException {
+        if (!dialectDetected) {
+            detectDialect();
+        }
+
+        while (true) {
+            if (!readRecord()) {
+                return false;
+            }
+            if (fieldCount > 1 || ends[0] > starts[0]) {
+                return true;
+            }
+        }
+    }
+
+    public char separator() {
+        return separator;
+    }
+
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Champ sans espaces de début/fin, ou null s'il est vide (ou absent)
+     */
+    public String field(int index) {
+        if (isBlank(index)) {
+            return null;
+        }
+        int start = fieldStart(index);
+        return new String(record, start, fieldEnd(index) - start);
+    }
+
+    public boolean isBlank(int index) {
+        return index >= fieldCount || fieldStart(index) == fieldEnd(index);
+    }
+
+    /**
+     * Début du champ (espaces ignorés) dans {@link #buffer()}
+     */
+    public int fieldStart(int index) {
+        int start = starts[index];
+        int end = ends[index];
+        while (start < end && record[start] <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Fin (exclue) du champ (espaces ignorés) dans {@link #buffer()}
+     */
+    public int fieldEnd(int index) {
+        int start = starts[index];
+        int end = ends[index];
+        while (end > start && record[end - 1] <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Tampon de l'enregistrement courant, valable jusqu'au prochain {@link #nextRecord()}
+     */
+    public char[] buffer() {
+        return record;
+    }
+
+    private boolean readRecord() throws IOException {
+        fieldCount = 0;
+        recordLength = 0;
+        if (position == limit && !fill()) {
+            return false;
+        }
+
+        boolean inQuotes = false;
+        startField();
+        while (true) {
+            if (position == limit && !fill()) {
+                endField();
+                return true;
+            }
+
+            char c = buffer[position++];
+            if (inQuotes) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        position++;
+                        append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == separator) {
+                endField();
+                startField();
+            } else if (c == '\n') {
+                endField();
+                return true;
+            } else if (c == '\r') {
+                if (peek() == '\n') {
+                    position++;
+                }
+                endField();
+                return true;
+            } else {
+                append(c);
+            }
+        }
+    }
+
+    /**
+     * Choisit le séparateur d'après la première ligne (hors guillemets), et saute le BOM UTF-8
+     */
+    private void detectDialect() throws IOException {
+        dialectDetected = true;
+        fill();
+        if (position < limit && buffer[position] == '\uFEFF') {
+            position++;
+        }
+
+        int semicolons = 0;
+        int commas = 0;
+        boolean inQuotes = false;
+        for (int i = position; i < limit; i++) {
+            char c = buffer[i];
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            } else if (!inQuotes && (c == '\n' || c == '\r')) {
+                break;
+            } else if (!inQuotes && c == ';') {
+                semicolons++;
+            } else if (!inQuotes && c == ',') {
+                commas++;
+            }
+        }
+        separator = commas > semicolons ? ',' : ';';
+    }
+
+    /**
+     * Caractère suivant sans le consommer (-1 en fin de fichier)
+     */
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    /**
+     * Recharge le tampon de lecture (en conservant un éventuel reste non lu)
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return position < limit;
+        }
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        while (limit < buffer.length) {
+            int n = reader.read(buffer, limit, buffer.length - limit);
+            if (n < 0) {
+                eof = true;
+                break;
+            }
+            limit += n;
+            if (n > 0) {
+                break;
+            }
+        }
+        return position < limit;
+    }
+
+    private void startField() {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+        }
+        starts[fieldCount] = recordLength;
+    }
+
+    private void endField() {
+        ends[fieldCount] = recordLength;
+        fieldCount++;
+    }
+
+    private void append(char c) {
+        if (recordLength == record.length) {
+            record = Arrays.copyOf(record, recordLength * 2);
+        }
+        record[recordLength++] = c;
+    }
+}
@@ -0,0 +1,20 @@
+package com.seomaniak.contact.service;
+
+/**
+ * Traitement, à l'import, d'une ligne dont l'email existe déjà (en base ou plus haut dans le fichier)
+ */
+public enum DuplicatePolicy {
+    /** Ligne ignorée, simplement comptée */
+    SKIP,
+    /** Le contact existant reçoit les valeurs non vides de la ligne (et est restauré s'il était supprimé) */
+    UPDATE,
+    /** Ligne écartée et inscrite dans le rapport de rejets */
+    REJECT;
+
+    public static DuplicatePolicy fromParameter(String value) {
+        if ("skip".equalsIgnoreCase(value)) {
+            return SKIP;
+        }
+        return "update".equalsIgnoreCase(value) ? UPDATE : REJECT;
+    }
+}
@@ -0,0 +1,223 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.exception.InvalidExportFormatException;
+import com.seomaniak.contact.model.entity.Contact;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Formats d'export des contacts. Chaque format écrit un contact à la fois dans le flux de sortie,
+ * à partir du même curseur ({@link CsvService#export}), sans rien garder en mémoire.
+ */
+public enum ExportFormat {
+
+    /** CSV point-virgule pour Excel français, réimportable tel quel */
+    CSV("csv", "text/csv; charset=UTF-8") {
+        @Override
+        void writeHeader(Writer writer) throws IOException {
+            // BOM UTF-8 pour Excel (reconnaissance automatique UTF-8)
+            writer.write('\uFEFF');
+            writer.write(CsvService.CSV_HEADER);
+        }
+
+        @Override
+        void writeRow(Writer writer, Contact contact) throws IOException {
+            CsvService.writeCsvRow(writer, contact);
+        }
+    },
+
+    /** Un objet JSON par ligne (champs de ContactResponseDTO, valeurs nulles omises) */
+    NDJSON("ndjson", "application/x-ndjson; charset=UTF-8") {
+        @Override
+        void writeRow(Writer writer, Contact contact) throws IOException {
+            writer.write("{\"id\":");
+            writer.write(String.valueOf(contact.getId()));
+            writeJsonField(writer, "firstName", contact.getFirstName());
+            writeJsonField(writer, "lastName", contact.getLastName());
+            writeJsonField(writer, "email", contact.getEmail());
+            writeJsonField(writer, "phone", contact.getPhone());
+            writeJsonField(writer, "address", contact.getAddress());
+            writeJsonField(writer, "city", contact.getCity());
+            writeJsonField(writer, "postalCode", contact.getPostalCode());
+            writeJsonField(writer, "country", contact.getCountry());
+            writeJsonField(writer, "company", contact.getCompany());
+            writeJsonField(writer, "jobTitle", contact.getJobTitle());
+            writeJsonField(writer, "birthday", contact.getBirthday() != null
+                    ? contact.getBirthday().format(DateTimeFormatter.ISO_LOCAL_DATE) : null);
+            writeJsonField(writer, "notes", contact.getNotes());
+            writeJsonField(writer, "website", contact.getWebsite());
+            writeJsonField(writer, "createdAt", contact.getCreatedAt() != null
+                    ? contact.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
+            writeJsonField(writer, "updatedAt", contact.getUpdatedAt() != null
+                    ? contact.getUpdatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
+            writer.write("}\n");
+        }
+    },
+
+    /** vCard 4.0 (RFC 6350), une fiche par contact, importable dans les carnets d'adresses */
+    VCF("vcf", "text/vcard; charset=UTF-8") {
+        @Override
+        void writeRow(Writer writer, Contact contact) throws IOException {
+            writeVcardLine(writer, "BEGIN", "VCARD");
+            writeVcardLine(writer, "VERSION", "4.0");
+            writeVcardLine(writer, "FN", escapeVcardText(contact.getFirstName() + " " + contact.getLastName()));
+            writeVcardLine(writer, "N", vcardComponent(contact.getLastName()) + ";"
+                    + vcardComponent(contact.getFirstName()) + ";;;");
+            writeVcardLine(writer, "EMAIL", escapeVcardText(contact.getEmail()));
+            writeVcardLine(writer, "TEL", escapeVcardText(contact.getPhone()));
+            writeVcardLine(writer, "ORG", escapeVcardText(contact.getCompany()));
+            writeVcardLine(writer, "TITLE", escapeVcardText(contact.getJobTitle()));
+            if (contact.getAddress() != null || contact.getCity() != null
+                    || contact.getPostalCode() != null || contact.getCountry() != null) {
+                // Boîte postale ; complément ; rue ; ville ; région ; code postal ; pays
+                writeVcardLine(writer, "ADR", ";;" + vcardComponent(contact.getAddress()) + ";"
+                        + vcardComponent(contact.getCity()) + ";;" + vcardComponent(contact.getPostalCode()) + ";"
+                        + vcardComponent(contact.getCountry()));
+            }
+            if (contact.getBirthday() != null) {
+                writeVcardLine(writer, "BDAY", contact.getBirthday().format(DateTimeFormatter.BASIC_ISO_DATE));
+            }
+            writeVcardLine(writer, "URL", escapeVcardText(contact.getWebsite()));
+            writeVcardLine(writer, "NOTE", escapeVcardText(contact.getNotes()));
+            LocalDateTime revision = contact.getUpdatedAt() != null ? contact.getUpdatedAt() : contact.getCreatedAt();
+            if (revision != null) {
+                writeVcardLine(writer, "REV", revision.format(VCARD_TIMESTAMP));
+            }
+            writeVcardLine(writer, "END", "VCARD");
+        }
+    };
+
+    private static final DateTimeFormatter VCARD_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    // RFC 6350 §3.2 : lignes repliées au-delà de 75 octets
+    private static final int VCARD_LINE_OCTETS = 75;
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    void writeHeader(Writer writer) throws IOException {
+    }
+
+    abstract void writeRow(Writer writer, Contact contact) throws IOException;
+
+    public static ExportFormat fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        throw new InvalidExportFormatException("Format d'export inconnu : " + value + " (csv, ndjson ou vcf)");
+    }
+
+    private static void writeJsonField(Writer writer, String name, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writer.write(",\"");
+        writer.write(name);
+        writer.write("\":");
+        writer.write(escapeJson(value));
+    }
+
+    /**
+     * Chaîne JSON entre guillemets : guillemet, antislash et caractères de contrôle échappés
+     * (un retour à la ligne dans une note ne coupe pas l'enregistrement NDJSON)
+     */
+    static String escapeJson(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.append('"').toString();
+    }
+
+    /**
+     * Valeur texte vCard : antislash, virgule, point-virgule et retours à la ligne échappés
+     */
+    static String escapeVcardText(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case ',' -> escaped.append("\\,");
+                case ';' -> escaped.append("\\;");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    // \r\n compte pour un seul retour à la ligne
+                    if (i + 1 >= value.length() || value.charAt(i + 1) != '\n') {
+                        escaped.append("\\n");
+                    }
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    // Composante d'une valeur structurée (N, ADR) : vide plutôt qu'absente
+    private static String vcardComponent(String value) {
+        return value != null ? escapeVcardText(value) : "";
+    }
+
+    /**
+     * Écrit {@code NAME:valeur} terminé par CRLF, replié tous les 75 octets UTF-8 (suite précédée
+     * d'un espace) sans couper un caractère ; une valeur nulle n'écrit rien
+     */
+    static void writeVcardLine(Writer writer, String name, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String line = name + ":" + value;
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int charCount = Character.charCount(codePoint);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > VCARD_LINE_OCTETS) {
+                writer.write("\r\n ");
+                octets = 1;
+            }
+            writer.write(line, i, charCount);
+            octets += size;
+            i += charCount;
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,17 @@
+package com.seomaniak.contact.service;
+
+import java.util.Locale;
+
+/**
+ * Colonnes proposées en facettes dans la liste ; même nom pour la colonne SQL, la propriété JPA
+ * et le paramètre de requête
+ */
+public enum Facet {
+    CITY,
+    COUNTRY,
+    COMPANY;
+
+    public String getColumn() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,146 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.dto.ImportJobDTO;
+import com.seomaniak.contact.model.dto.ImportReportDTO;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Import CSV exécuté en arrière-plan à partir d'un fichier déposé sur disque
+ */
+public class ImportJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final String fileName;
+    private final Path file;
+    private final Path rejectFile;
+    private final long totalBytes;
+    private final DuplicatePolicy duplicatePolicy;
+    private final ImportProgress progress = new ImportProgress();
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile String errorMessage;
+    private volatile ImportReportDTO report;
+
+    public ImportJob(String id, String fileName, Path file, Path rejectFile, long totalBytes,
+                     DuplicatePolicy duplicatePolicy) {
+        this.id = id;
+        this.fileName = fileName;
+        this.file = file;
+        this.rejectFile = rejectFile;
+        this.totalBytes = totalBytes;
+        this.duplicatePolicy = duplicatePolicy;
+    }
+
+    void markRunning() {
+        startedNanos = System.nanoTime();
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void markCompleted(ImportReportDTO report) {
+        this.report = report;
+        markFinished(Status.COMPLETED);
+    }
+
+    void markFailed(String errorMessage) {
+        this.errorMessage = errorMessage;
+        markFinished(Status.FAILED);
+    }
+
+    private void markFinished(Status finalStatus) {
+        finishedNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Rapport des lignes écartées (CSV), complet une fois l'import terminé
+     */
+    public Path getRejectFile() {
+        return rejectFile;
+    }
+
+    public DuplicatePolicy getDuplicatePolicy() {
+        return duplicatePolicy;
+    }
+
+    public ImportProgress getProgress() {
+        return progress;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Photographie de l'avancement : débit calculé depuis le démarrage,
+     * ETA estimée à partir des octets restant à lire
+     */
+    public ImportJobDTO toDTO() {
+        Status current = status;
+        long bytesRead = Math.min(progress.getBytesRead(), totalBytes);
+        double rowsPerSecond = 0;
+        Long etaSeconds = null;
+
+        if (current != Status.QUEUED) {
+            long end = current == Status.RUNNING ? System.nanoTime() : finishedNanos;
+            double elapsedSeconds = Math.max(end - startedNanos, 1) / 1_000_000_000d;
+            rowsPerSecond = progress.getRowsParsed() / elapsedSeconds;
+
+            if (current == Status.RUNNING && bytesRead > 0) {
+                double bytesPerSecond = bytesRead / elapsedSeconds;
+                etaSeconds = Math.round((totalBytes - bytesRead) / bytesPerSecond);
+            } else if (current == Status.COMPLETED) {
+                etaSeconds = 0L;
+            }
+        }
+
+        return ImportJobDTO.builder()
+                .id(id)
+                .fileName(fileName)
+                .status(current.name())
+                .totalBytes(totalBytes)
+                .bytesRead(bytesRead)
+                .rowsParsed(progress.getRowsParsed())
+                .duplicatePolicy(duplicatePolicy.name())
+                .rowsInserted(progress.getRowsInserted())
+                .rowsUpdated(progress.getRowsUpdated())
+                .rowsSkipped(progress.getRowsSkipped())
+                .rowsRejected(progress.getRowsRejected())
+                .rejectsUrl(current == Status.COMPLETED && progress.getRowsRejected() > 0
+                        ? "/contacts/api/imports/" + id + "/rejects" : null)
+                .rowsPerSecond(rowsPerSecond)
+                .etaSeconds(etaSeconds)
+                .createdAt(createdAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .errorMessage(errorMessage)
+                .report(report)
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.exception.ImportCapacityException;
+import com.seomaniak.contact.exception.ResourceNotFoundException;
+import com.seomaniak.contact.model.dto.ImportJobDTO;
+import com.seomaniak.contact.model.dto.ImportReportDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports CSV en tâche de fond : le fichier est déposé sur disque, un identifiant
+ * est renvoyé immédiatement et l'import s'exécute sur un pool dédié et borné
+ * (nombre d'imports simultanés plafonné pour ne pas monopoliser les connexions).
+ */
+@Slf4j
+@Service
+public class ImportJobService {
+
+    private final CsvService csvService;
+    private final CsvMetrics csvMetrics;
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ImportJobService(CsvService csvService, CsvMetrics csvMetrics,
+                            @Value("${contact.import.max-concurrent-jobs:1}") int maxConcurrentJobs,
+                            @Value("${contact.import.queue-capacity:5}") int queueCapacity,
+                            @Value("${contact.import.job-retention:1h}") Duration retention) {
+        this.csvService = csvService;
+        this.csvMetrics = csvMetrics;
+        this.retention = retention;
+        this.executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("csv-import-", 0).factory());
+    }
+
+    /**
+     * Dépose le fichier sur disque et planifie l'import
+     */
+    public ImportJobDTO submit(MultipartFile file, DuplicatePolicy duplicatePolicy) throws IOException {
+        purgeFinishedJobs();
+
+        Path spooled = Files.createTempFile("contact-import-", ".csv");
+        file.transferTo(spooled);
+
+        String id = UUID.randomUUID().toString();
+        ImportJob job = new ImportJob(id, file.getOriginalFilename(), spooled,
+                spooled.resolveSibling("contact-import-" + id + "-rejects.csv"), Files.size(spooled), duplicatePolicy);
+        jobs.put(job.getId(), job);
+
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(spooled);
+            throw new ImportCapacityException("Trop d'imports en cours, veuillez réessayer plus tard");
+        }
+
+        return job.toDTO();
+    }
+
+    public ImportJobDTO getJob(String id) {
+        return findJob(id).toDTO();
+    }
+
+    /**
+     * Rapport des lignes écartées d'un import terminé
+     */
+    public Path getRejectReport(String id) {
+        ImportJob job = findJob(id);
+        if (job.getStatus() != ImportJob.Status.COMPLETED || !Files.exists(job.getRejectFile())) {
+            throw new ResourceNotFoundException("Aucun rapport de rejets pour l'import : " + id);
+        }
+        return job.getRejectFile();
+    }
+
+    private ImportJob findJob(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import non trouvé avec l'ID : " + id);
+        }
+        return job;
+    }
+
+    private void run(ImportJob job) {
+        job.markRunning();
+        ImportProgress progress = job.getProgress();
+        long start = System.nanoTime();
+
+        try (InputStream in = new CountingInputStream(Files.newInputStream(job.getFile()), progress);
+             ImportRejectReport rejects = ImportRejectReport.toFile(job.getRejectFile())) {
+            ImportReportDTO report = csvService.importFromCsv(in, job.getDuplicatePolicy(), progress, rejects);
+            job.markCompleted(report);
+            log.info("Import {} terminé : {} ligne(s) insérée(s), {} mise(s) à jour, {} ignorée(s), {} rejetée(s)",
+                    job.getId(), report.getRowsInserted(), report.getRowsUpdated(),
+                    report.getRowsSkipped(), report.getRowsRejected());
+        } catch (Exception e) {
+            job.markFailed(e.getMessage());
+            log.error("Import {} en échec", job.getId(), e);
+        } finally {
+            csvMetrics.recordImportBytes(progress.getBytesRead(), System.nanoTime() - start);
+            deleteQuietly(job.getFile());
+        }
+    }
+
+    private void purgeFinishedJobs() {
+        LocalDateTime limit = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || !job.getFinishedAt().isBefore(limit)) {
+                return false;
+            }
+            deleteQuietly(job.getRejectFile());
+            return true;
+        });
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Impossible de supprimer le fichier {}", file);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Compte les octets lus pour estimer l'avancement et l'ETA
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final ImportProgress progress;
+
+        CountingInputStream(InputStream in, ImportProgress progress) {
+            super(in);
+            this.progress = progress;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                progress.addBytesRead(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                progress.addBytesRead(n);
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.dto.ContactRequestDTO;
+import com.seomaniak.contact.model.dto.ImportChunkDTO;
+import com.seomaniak.contact.model.dto.ImportStageDTO;
+import com.seomaniak.contact.model.entity.Contact;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Import CSV en trois étages reliés par des files bornées :
+ * <ol>
+ *     <li>lecture (thread appelant) : découpage RFC 4180, séquentiel par nature, par blocs d'enregistrements ;</li>
+ *     <li>analyse (N threads) : normalisation et validation avec les contraintes de {@link ContactRequestDTO} ;</li>
+ *     <li>écriture (M threads) : un lot par transaction, donc une connexion du pool par thread.</li>
+ * </ol>
+ * Une file pleine bloque l'étage amont (contre-pression) : la mémoire reste bornée et le débit suit
+ * l'étage le plus lent, en principe la base. Les lignes sont réparties entre les threads d'écriture
+ * selon leur email et dans l'ordre du fichier : deux lots concurrents ne portent jamais sur le même
+ * email et les doublons sont résolus comme dans un import séquentiel.
+ * <p>
+ * Une instance par import.
+ */
+final class ImportPipeline {
+
+    // Enregistrements par bloc transmis aux threads d'analyse
+    static final int BLOCK_SIZE = 256;
+    private static final long POLL_MILLIS = 100;
+
+    private static final Block END_OF_FILE = new Block(-1, -1, null);
+    private static final List<ImportRow> END_OF_CHUNKS = List.of();
+
+    private final ContactBatchWriter batchWriter;
+    private final Validator validator;
+    private final CsvMetrics csvMetrics;
+    private final DuplicatePolicy policy;
+    private final ImportProgress progress;
+    private final ImportRejectReport rejects;
+    private final int chunkSize;
+    private final int parseThreads;
+    private final int writerThreads;
+
+    private final BlockingQueue<Block> parseQueue;
+    private final List<BlockingQueue<List<ImportRow>>> writeQueues = new ArrayList<>();
+
+    // Répartition vers les threads d'écriture, protégée par le moniteur de l'instance :
+    // les blocs analysés dans le désordre attendent leur tour dans pending
+    private final Map<Long, List<ImportRow>> pending = new HashMap<>();
+    private final List<List<ImportRow>> partitions = new ArrayList<>();
+    private long nextSequence;
+    private int parsersRunning;
+
+    private final AtomicInteger chunkNumbers = new AtomicInteger();
+    private final List<ImportChunkDTO> chunks = new ArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private final Stage read;
+    private final Stage parse;
+    private final Stage write;
+
+    ImportPipeline(ContactBatchWriter batchWriter, Validator validator, CsvMetrics csvMetrics,
+                   DuplicatePolicy policy, ImportProgress progress, ImportRejectReport rejects,
+                   int chunkSize, int parseThreads, int writerThreads, int queueCapacity) {
+        this.batchWriter = batchWriter;
+        this.validator = validator;
+        this.csvMetrics = csvMetrics;
+        this.policy = policy;
+        this.progress = progress;
+        this.rejects = rejects;
+        this.chunkSize = chunkSize;
+        this.parseThreads = parseThreads;
+        this.writerThreads = writerThreads;
+        this.parseQueue = new ArrayBlockingQueue<>(queueCapacity);
+        for (int i = 0; i < writerThreads; i++) {
+            writeQueues.add(new ArrayBlockingQueue<>(queueCapacity));
+            partitions.add(new ArrayList<>(chunkSize));
+        }
+        this.parsersRunning = parseThreads;
+        this.read = new Stage("read", 1);
+        this.parse = new Stage("parse", parseThreads);
+        this.write = new Stage("write", writerThreads);
+    }
+
+    /**
+     * Importe les enregistrements restants du tokenizer (en-tête déjà lu) et attend la fin des écritures.
+     * La première erreur d'un étage interrompt les autres et est relancée ici ; les lots déjà
+     * validés restent en base.
+     */
+    void run(CsvTokenizer tokenizer, CsvColumns columns) throws IOException {
+        List<Thread> threads = new ArrayList<>(parseThreads + writerThreads);
+        Thread.Builder parsers = Thread.ofPlatform().name("csv-parse-", 0);
+        for (int i = 0; i < parseThreads; i++) {
+            threads.add(parsers.start(worker(parse, this::parseLoop)));
+        }
+        Thread.Builder writers = Thread.ofPlatform().name("csv-write-", 0);
+        for (int i = 0; i < writerThreads; i++) {
+            int partition = i;
+            threads.add(writers.start(worker(write, () -> writeLoop(partition))));
+        }
+
+        long start = System.nanoTime();
+        try {
+            readLoop(tokenizer, columns);
+        } catch (Aborted e) {
+            // Erreur d'un autre étage, relancée ci-dessous
+        } catch (IOException | RuntimeException | Error e) {
+            fail(e);
+        } finally {
+            read.activeNanos.add(System.nanoTime() - start);
+            join(threads);
+        }
+
+        Throwable cause = failure.get();
+        if (cause instanceof IOException e) {
+            throw e;
+        } else if (cause instanceof RuntimeException e) {
+            throw e;
+        } else if (cause instanceof Error e) {
+            throw e;
+        } else if (cause != null) {
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+
+        for (Stage stage : List.of(read, parse, write)) {
+            csvMetrics.recordImportStage(stage.name, stage.rows.sum(), stage.busyNanos(), stage.blockedNanos.sum());
+        }
+    }
+
+    List<ImportChunkDTO> getChunks() {
+        synchronized (chunks) {
+            return chunks.stream().sorted(Comparator.comparingInt(ImportChunkDTO::getChunkNumber)).toList();
+        }
+    }
+
+    List<ImportStageDTO> getStages() {
+        return List.of(read.toDTO(), parse.toDTO(), write.toDTO());
+    }
+
+    private void readLoop(CsvTokenizer tokenizer, CsvColumns columns) throws IOException {
+        long row = 1;
+        long sequence = 0;
+        CsvColumns.Records records = new CsvColumns.Records(columns, BLOCK_SIZE);
+        while (tokenizer.nextRecord()) {
+            row++;
+            progress.rowParsed();
+            records.add(tokenizer);
+            if (records.size() == BLOCK_SIZE) {
+                put(parseQueue, new Block(sequence++, row - BLOCK_SIZE + 1, records), read);
+                records = new CsvColumns.Records(columns, BLOCK_SIZE);
+            }
+        }
+        if (records.size() > 0) {
+            put(parseQueue, new Block(sequence, row - records.size() + 1, records), read);
+        }
+        read.rows.add(row - 1);
+
+        for (int i = 0; i < parseThreads; i++) {
+            put(parseQueue, END_OF_FILE, read);
+        }
+    }
+
+    private void parseLoop() {
+        while (true) {
+            Block block = take(parseQueue, parse);
+            if (block == END_OF_FILE) {
+                parserDone();
+                return;
+            }
+
+            List<ImportRow> rows = new ArrayList<>(block.records().size());
+            for (int i = 0; i < block.records().size(); i++) {
+                ImportRow row = parseRow(block.firstRow() + i, block.records(), i);
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+            parse.rows.add(block.records().size());
+
+            long start = System.nanoTime();
+            dispatch(block.sequence(), rows);
+            parse.blockedNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Ligne normalisée et validée comme le formulaire, ou null si elle a été rejetée
+     */
+    private ImportRow parseRow(long row, CsvColumns.Records records, int index) {
+        ContactRequestDTO request = CsvService.toRequest(records, index);
+        if (request == null) {
+            reject(row, ImportRejectReport.INVALID_ROW, records, index);
+            return null;
+        }
+        Set<ConstraintViolation<ContactRequestDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String fields = violations.stream()
+                    .map(violation -> violation.getPropertyPath().toString())
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.joining(","));
+            reject(row, ImportRejectReport.INVALID_VALUE + ":" + fields, records, index);
+            return null;
+        }
+        Contact contact = CsvService.toContact(request);
+        return new ImportRow(row, contact);
+    }
+
+    private void reject(long row, String reason, CsvColumns.Records records, int index) {
+        rejects.reject(row, reason,
+                records.value(index, CsvColumns.Field.EMAIL),
+                records.value(index, CsvColumns.Field.FIRST_NAME),
+                records.value(index, CsvColumns.Field.LAST_NAME));
+        progress.rowRejected();
+        csvMetrics.recordImportRejected(1);
+    }
+
+    /**
+     * Répartit les blocs dans l'ordre du fichier : chaque email va toujours au même thread d'écriture
+     */
+    private synchronized void dispatch(long sequence, List<ImportRow> rows) {
+        pending.put(sequence, rows);
+        List<ImportRow> next;
+        while ((next = pending.remove(nextSequence)) != null) {
+            nextSequence++;
+            for (ImportRow row : next) {
+                int partition = Math.floorMod(row.contact().getEmail().hashCode(), writerThreads);
+                List<ImportRow> chunk = partitions.get(partition);
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    put(writeQueues.get(partition), chunk);
+                    partitions.set(partition, new ArrayList<>(chunkSize));
+                }
+            }
+        }
+    }
+
+    /**
+     * Le dernier thread d'analyse à terminer envoie les lots incomplets puis la fin de flux
+     */
+    private synchronized void parserDone() {
+        if (--parsersRunning > 0) {
+            return;
+        }
+        for (int partition = 0; partition < writerThreads; partition++) {
+            List<ImportRow> chunk = partitions.get(partition);
+            if (!chunk.isEmpty()) {
+                put(writeQueues.get(partition), chunk);
+            }
+            put(writeQueues.get(partition), END_OF_CHUNKS);
+        }
+    }
+
+    private void writeLoop(int partition) {
+        BlockingQueue<List<ImportRow>> queue = writeQueues.get(partition);
+        while (true) {
+            List<ImportRow> chunk = take(queue, write);
+            if (chunk == END_OF_CHUNKS) {
+                return;
+            }
+
+            ImportChunkDTO written = batchWriter.writeChunk(chunkNumbers.incrementAndGet(), chunk, policy, rejects);
+            progress.rowsInserted(written.getRows());
+            progress.rowsUpdated(written.getUpdated());
+            progress.rowsSkipped(written.getSkipped());
+            progress.rowsRejected(written.getRejected());
+            write.rows.add(chunk.size());
+            synchronized (chunks) {
+                chunks.add(written);
+            }
+        }
+    }
+
+    private Runnable worker(Stage stage, Runnable loop) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                loop.run();
+            } catch (Aborted e) {
+                // Un autre étage a échoué
+            } catch (Throwable e) {
+                fail(e);
+            } finally {
+                stage.activeNanos.add(System.nanoTime() - start);
+            }
+        };
+    }
+
+    private <T> void put(BlockingQueue<T> queue, T item, Stage stage) {
+        long start = System.nanoTime();
+        try {
+            put(queue, item);
+        } finally {
+            stage.blockedNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private <T> void put(BlockingQueue<T> queue, T item) {
+        try {
+            while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkNotAborted();
+            }
+        } catch (InterruptedException e) {
+            throw interrupted();
+        }
+    }
+
+    private <T> T take(BlockingQueue<T> queue, Stage stage) {
+        long start = System.nanoTime();
+        try {
+            T item;
+            while ((item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                checkNotAborted();
+            }
+            return item;
+        } catch (InterruptedException e) {
+            throw interrupted();
+        } finally {
+            stage.idleNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private void checkNotAborted() {
+        if (failure.get() != null) {
+            throw Aborted.INSTANCE;
+        }
+    }
+
+    private Aborted interrupted() {
+        Thread.currentThread().interrupt();
+        fail(new InterruptedIOException("Import interrompu"));
+        return Aborted.INSTANCE;
+    }
+
+    private void fail(Throwable e) {
+        failure.compareAndSet(null, e);
+    }
+
+    private void join(List<Thread> threads) {
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    // Arrêt demandé (fermeture de l'application) : les étages s'arrêtent au prochain passage
+                    interrupted = true;
+                    fail(new InterruptedIOException("Import interrompu"));
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Block(long sequence, long firstRow, CsvColumns.Records records) {
+    }
+
+    /**
+     * Temps cumulés des threads d'un étage : actif = occupé + en attente d'entrée (idle)
+     * + bloqué sur une file pleine en aval (contre-pression)
+     */
+    private static final class Stage {
+
+        private final String name;
+        private final int threads;
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder activeNanos = new LongAdder();
+        private final LongAdder idleNanos = new LongAdder();
+        private final LongAdder blockedNanos = new LongAdder();
+
+        private Stage(String name, int threads) {
+            this.name = name;
+            this.threads = threads;
+        }
+
+        private long busyNanos() {
+            return Math.max(activeNanos.sum() - idleNanos.sum() - blockedNanos.sum(), 0);
+        }
+
+        /**
+         * Le débit indiqué est celui de l'étage s'il n'attendait jamais : le plus faible désigne le goulot
+         */
+        private ImportStageDTO toDTO() {
+            long busyNanos = Math.max(busyNanos(), 1);
+            return ImportStageDTO.builder()
+                    .stage(name)
+                    .threads(threads)
+                    .rows(rows.sum())
+                    .busyMs(busyNanos / 1_000_000)
+                    .idleMs(idleNanos.sum() / 1_000_000)
+                    .blockedMs(blockedNanos.sum() / 1_000_000)
+                    .rowsPerSecond(rows.sum() * threads * 1_000_000_000d / busyNanos)
+                    .build();
+        }
+    }
+
+    /**
+     * Sortie d'un étage après l'échec d'un autre (sans pile d'appels)
+     */
+    private static final class Aborted extends RuntimeException {
+
+        private static final Aborted INSTANCE = new Aborted();
+
+        private Aborted() {
+            super("Import interrompu", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.seomaniak.contact.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteurs d'avancement d'un import, mis à jour par le thread d'import
+ * et lus à tout moment par l'API de suivi.
+ */
+public class ImportProgress {
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong rowsParsed = new AtomicLong();
+    private final AtomicLong rowsInserted = new AtomicLong();
+    private final AtomicLong rowsUpdated = new AtomicLong();
+    private final AtomicLong rowsSkipped = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+
+    public void addBytesRead(long bytes) {
+        bytesRead.addAndGet(bytes);
+    }
+
+    public void rowParsed() {
+        rowsParsed.incrementAndGet();
+    }
+
+    public void rowRejected() {
+        rowsRejected.incrementAndGet();
+    }
+
+    public void rowsRejected(long count) {
+        rowsRejected.addAndGet(count);
+    }
+
+    public void rowsInserted(long count) {
+        rowsInserted.addAndGet(count);
+    }
+
+    public void rowsUpdated(long count) {
+        rowsUpdated.addAndGet(count);
+    }
+
+    public void rowsSkipped(long count) {
+        rowsSkipped.addAndGet(count);
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed.get();
+    }
+
+    public long getRowsInserted() {
+        return rowsInserted.get();
+    }
+
+    public long getRowsUpdated() {
+        return rowsUpdated.get();
+    }
+
+    public long getRowsSkipped() {
+        return rowsSkipped.get();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+}
@@ -0,0 +1,90 @@
+package com.seomaniak.contact.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Rapport des lignes non importées, écrit au fil de l'eau sur disque :
+ * CSV {@code row;reason;email;firstName;lastName}, exploitable par un script
+ * (numéro d'enregistrement dans le fichier source, en-tête = 1).
+ */
+public class ImportRejectReport implements Closeable {
+
+    public static final String INVALID_ROW = "INVALID_ROW";
+    // Suivi des champs refusés par la validation, ex. INVALID_VALUE:phone,website
+    public static final String INVALID_VALUE = "INVALID_VALUE";
+    public static final String DUPLICATE_EMAIL = "DUPLICATE_EMAIL";
+    public static final String DUPLICATE_IN_FILE = "DUPLICATE_IN_FILE";
+
+    private static final String HEADER = "row;reason;email;firstName;lastName\n";
+
+    private final Writer writer;
+    private long count;
+
+    private ImportRejectReport(Writer writer) {
+        this.writer = writer;
+    }
+
+    public static ImportRejectReport toFile(Path file) throws IOException {
+        Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        writer.write(HEADER);
+        return new ImportRejectReport(writer);
+    }
+
+    /**
+     * Rapport sans fichier : les rejets sont seulement comptés
+     */
+    public static ImportRejectReport discarding() {
+        return new ImportRejectReport(null);
+    }
+
+    public synchronized void reject(long row, String reason, String email, String firstName, String lastName) {
+        count++;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(Long.toString(row));
+            writer.write(';');
+            writer.write(reason);
+            writeField(email);
+            writeField(firstName);
+            writeField(lastName);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private void writeField(String value) throws IOException {
+        writer.write(';');
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(';') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
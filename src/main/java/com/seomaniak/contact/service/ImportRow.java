@@ -0,0 +1,9 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.entity.Contact;
+
+/**
+ * Contact lu dans le fichier, avec son numéro d'enregistrement (en-tête = 1) pour le rapport de rejets
+ */
+record ImportRow(long row, Contact contact) {
+}
@@ -0,0 +1,153 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.entity.Contact;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Import portable (H2 en local) : emails existants lus en une requête IN, puis un MERGE
+ * standard SQL envoyé en batch JDBC pour tout le lot.
+ */
+public class JdbcMergeContactBulkWriter implements ContactBulkWriter {
+
+    private static final String SELECT_EXISTING = "SELECT id, LOWER(email), is_deleted FROM contacts " +
+            "WHERE LOWER(email) IN (:emails)";
+
+    private static final String MERGE_SOURCE = "MERGE INTO contacts c USING (SELECT CAST(? AS BIGINT) AS id, " +
+            "CAST(? AS VARCHAR(100)) AS first_name, CAST(? AS VARCHAR(100)) AS last_name, " +
+            "CAST(? AS VARCHAR(150)) AS email, CAST(? AS VARCHAR(20)) AS phone, CAST(? AS VARCHAR(255)) AS address, " +
+            "CAST(? AS VARCHAR(100)) AS city, CAST(? AS VARCHAR(10)) AS postal_code, " +
+            "CAST(? AS VARCHAR(100)) AS country, CAST(? AS VARCHAR(100)) AS company, " +
+            "CAST(? AS VARCHAR(100)) AS job_title, CAST(? AS DATE) AS birthday, CAST(? AS VARCHAR(500)) AS notes, " +
+            "CAST(? AS VARCHAR(255)) AS website, CAST(? AS TIMESTAMP) AS stamp) s ON LOWER(c.email) = s.email ";
+
+    // Un champ vide du fichier ne remplace pas une valeur existante
+    private static final String WHEN_MATCHED = "WHEN MATCHED THEN UPDATE SET first_name = s.first_name, " +
+            "last_name = s.last_name, phone = COALESCE(s.phone, c.phone), address = COALESCE(s.address, c.address), " +
+            "city = COALESCE(s.city, c.city), postal_code = COALESCE(s.postal_code, c.postal_code), " +
+            "country = COALESCE(s.country, c.country), company = COALESCE(s.company, c.company), " +
+            "job_title = COALESCE(s.job_title, c.job_title), birthday = COALESCE(s.birthday, c.birthday), " +
+            "notes = COALESCE(s.notes, c.notes), website = COALESCE(s.website, c.website), " +
+            "is_deleted = FALSE, updated_at = s.stamp ";
+
+    private static final String WHEN_NOT_MATCHED = "WHEN NOT MATCHED THEN INSERT (id, first_name, last_name, email, " +
+            "phone, address, city, postal_code, country, company, job_title, birthday, notes, website, " +
+            "is_deleted, created_at, updated_at) VALUES (s.id, s.first_name, s.last_name, s.email, s.phone, " +
+            "s.address, s.city, s.postal_code, s.country, s.company, s.job_title, s.birthday, s.notes, " +
+            "s.website, FALSE, s.stamp, s.stamp)";
+
+    private static final String UPSERT = MERGE_SOURCE + WHEN_MATCHED + WHEN_NOT_MATCHED;
+    private static final String INSERT_IF_ABSENT = MERGE_SOURCE + WHEN_NOT_MATCHED;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ContactIdAllocator idAllocator;
+
+    public JdbcMergeContactBulkWriter(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.idAllocator = new ContactIdAllocator(jdbcTemplate,
+                "SELECT NEXT VALUE FOR contacts_seq FROM SYSTEM_RANGE(1, ?)");
+    }
+
+    @Override
+    public BulkWriteResult write(List<ImportRow> rows, DuplicatePolicy policy) {
+        Map<String, Long> existing = new HashMap<>();
+        Set<Long> deleted = new HashSet<>();
+        namedJdbcTemplate.query(SELECT_EXISTING,
+                Map.of("emails", rows.stream().map(row -> row.contact().getEmail()).toList()),
+                rs -> {
+                    existing.putIfAbsent(rs.getString(2), rs.getLong(1));
+                    if (rs.getBoolean(3)) {
+                        deleted.add(rs.getLong(1));
+                    }
+                });
+
+        List<ImportRow> toMerge = new ArrayList<>(rows.size());
+        List<ImportRow> duplicates = new ArrayList<>();
+        List<Long> updatedIds = new ArrayList<>();
+        List<Long> restoredIds = new ArrayList<>();
+        for (ImportRow row : rows) {
+            Long id = existing.get(row.contact().getEmail());
+            if (id == null) {
+                toMerge.add(row);
+            } else if (policy == DuplicatePolicy.UPDATE) {
+                toMerge.add(row);
+                (deleted.contains(id) ? restoredIds : updatedIds).add(id);
+            } else {
+                duplicates.add(row);
+            }
+        }
+        if (toMerge.isEmpty()) {
+            return new BulkWriteResult(0, updatedIds, restoredIds, duplicates);
+        }
+
+        long[] ids = idAllocator.allocate(toMerge.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts = jdbcTemplate.batchUpdate(policy == DuplicatePolicy.UPDATE ? UPSERT : INSERT_IF_ABSENT,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Contact contact = toMerge.get(i).contact();
+                        contact.setId(ids[i]);
+                        bind(ps, contact, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return toMerge.size();
+                    }
+                });
+
+        // 0 ligne affectée : email inséré entre-temps par un autre import
+        int inserted = 0;
+        for (int i = 0; i < counts.length; i++) {
+            ImportRow row = toMerge.get(i);
+            if (existing.containsKey(row.contact().getEmail())) {
+                continue;
+            }
+            if (counts[i] == 0) {
+                duplicates.add(row);
+            } else {
+                inserted++;
+            }
+        }
+        return new BulkWriteResult(inserted, updatedIds, restoredIds, duplicates);
+    }
+
+    private static void bind(PreparedStatement ps, Contact contact, Timestamp now) throws SQLException {
+        ps.setLong(1, contact.getId());
+        ps.setString(2, contact.getFirstName());
+        ps.setString(3, contact.getLastName());
+        ps.setString(4, contact.getEmail());
+        ps.setString(5, contact.getPhone());
+        ps.setString(6, contact.getAddress());
+        ps.setString(7, contact.getCity());
+        ps.setString(8, contact.getPostalCode());
+        ps.setString(9, contact.getCountry());
+        ps.setString(10, contact.getCompany());
+        ps.setString(11, contact.getJobTitle());
+        if (contact.getBirthday() != null) {
+            ps.setDate(12, Date.valueOf(contact.getBirthday()));
+        } else {
+            ps.setNull(12, Types.DATE);
+        }
+        ps.setString(13, contact.getNotes());
+        ps.setString(14, contact.getWebsite());
+        ps.setTimestamp(15, now);
+    }
+}
@@ -0,0 +1,55 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.dto.FacetValueDTO;
+import com.seomaniak.contact.repository.ContactRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Moteur de recherche portable (H2 / développement local) : LIKE sur les colonnes
+ * indexées par le moteur PostgreSQL, classement par pertinence
+ * (préfixe du nom, puis de l'email ou de la société, puis le reste).
+ */
+public class JpqlContactSearchEngine implements ContactSearchEngine {
+
+    private final ContactRepository repository;
+
+    public JpqlContactSearchEngine(ContactRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Slice<Long> search(String term, ContactFilter filter, Pageable pageable) {
+        String normalized = normalize(term);
+        // Le tri est imposé par la requête (pertinence), on ignore celui de l'appelant
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        String escaped = ContactSearchEngine.escapeLike(normalized, ContactRepository.LIKE_ESCAPE);
+        return repository.searchActiveIds("%" + escaped + "%", escaped + "%",
+                filter.city(), filter.country(), filter.company(), unsorted);
+    }
+
+    // Pas d'estimation possible sur H2 : total exact (mis en cache par ContactCounter)
+    @Override
+    public ContactCount count(String term, ContactFilter filter) {
+        return new ContactCount(repository.countSearchActive(pattern(term),
+                filter.city(), filter.country(), filter.company()), true);
+    }
+
+    @Override
+    public List<FacetValueDTO> facet(String term, ContactFilter filter, Facet facet, int limit) {
+        return repository.findFacetCounts(facet.getColumn(), pattern(term),
+                filter.city(), filter.country(), filter.company(), limit);
+    }
+
+    private static String pattern(String term) {
+        return "%" + ContactSearchEngine.escapeLike(normalize(term), ContactRepository.LIKE_ESCAPE) + "%";
+    }
+
+    private static String normalize(String term) {
+        return term != null ? term.trim().toLowerCase(Locale.ROOT) : "";
+    }
+}
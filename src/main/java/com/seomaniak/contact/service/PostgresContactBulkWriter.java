@@ -0,0 +1,192 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.entity.Contact;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.io.CharArrayReader;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Import natif PostgreSQL : le lot est envoyé en un seul COPY dans une table temporaire,
+ * rapproché des contacts existants par une jointure sur lower(email), puis fusionné
+ * par INSERT ... ON CONFLICT (email). Trois à quatre instructions par lot, quel que soit sa taille.
+ */
+public class PostgresContactBulkWriter implements ContactBulkWriter {
+
+    private static final String COLUMNS = "first_name, last_name, email, phone, address, city, postal_code, " +
+            "country, company, job_title, birthday, notes, website";
+
+    // Table propre à la session, vidée à chaque fin de transaction
+    private static final String CREATE_STAGING = "CREATE TEMP TABLE IF NOT EXISTS contacts_staging (" +
+            "row_no BIGINT, id BIGINT, first_name TEXT, last_name TEXT, email TEXT, phone TEXT, address TEXT, " +
+            "city TEXT, postal_code TEXT, country TEXT, company TEXT, job_title TEXT, birthday DATE, " +
+            "notes TEXT, website TEXT, target_id BIGINT, target_deleted BOOLEAN) ON COMMIT DELETE ROWS";
+
+    private static final String COPY_STAGING = "COPY contacts_staging (row_no, id, " + COLUMNS + ") " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    private static final String RESOLVE_EXISTING = "UPDATE contacts_staging s SET target_id = c.id, " +
+            "target_deleted = c.is_deleted FROM contacts c WHERE lower(c.email) = s.email";
+
+    private static final String SELECT_DUPLICATES = "SELECT row_no FROM contacts_staging WHERE target_id IS NOT NULL";
+
+    // Un champ vide du fichier ne remplace pas une valeur existante
+    private static final String MERGE_SET = "first_name = %1$s.first_name, last_name = %1$s.last_name, " +
+            "phone = COALESCE(%1$s.phone, contacts.phone), address = COALESCE(%1$s.address, contacts.address), " +
+            "city = COALESCE(%1$s.city, contacts.city), postal_code = COALESCE(%1$s.postal_code, contacts.postal_code), " +
+            "country = COALESCE(%1$s.country, contacts.country), company = COALESCE(%1$s.company, contacts.company), " +
+            "job_title = COALESCE(%1$s.job_title, contacts.job_title), birthday = COALESCE(%1$s.birthday, contacts.birthday), " +
+            "notes = COALESCE(%1$s.notes, contacts.notes), website = COALESCE(%1$s.website, contacts.website), " +
+            "is_deleted = false, updated_at = ?";
+
+    private static final String UPDATE_EXISTING = "UPDATE contacts SET " + MERGE_SET.formatted("s") + " " +
+            "FROM contacts_staging s WHERE contacts.id = s.target_id RETURNING contacts.id, s.target_deleted";
+
+    private static final String INSERT_NEW = "INSERT INTO contacts (id, " + COLUMNS + ", is_deleted, created_at, updated_at) " +
+            "SELECT id, " + COLUMNS + ", false, ?, ? FROM contacts_staging WHERE target_id IS NULL ";
+
+    // Filet de sécurité si un autre import insère le même email entre-temps
+    private static final String INSERT_OR_UPDATE = INSERT_NEW +
+            "ON CONFLICT (email) DO UPDATE SET " + MERGE_SET.formatted("EXCLUDED") + " RETURNING id, email, (xmax = 0)";
+
+    private static final String INSERT_OR_IGNORE = INSERT_NEW +
+            "ON CONFLICT (email) DO NOTHING RETURNING id, email, true";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ContactIdAllocator idAllocator;
+
+    public PostgresContactBulkWriter(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = new ContactIdAllocator(jdbcTemplate,
+                "SELECT nextval('contacts_seq') FROM generate_series(1, ?)");
+    }
+
+    @Override
+    public BulkWriteResult write(List<ImportRow> rows, DuplicatePolicy policy) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.execute(CREATE_STAGING);
+        copy(rows);
+        jdbcTemplate.update(RESOLVE_EXISTING);
+
+        Map<String, ImportRow> byEmail = new HashMap<>(rows.size() * 2);
+        for (ImportRow row : rows) {
+            byEmail.put(row.contact().getEmail(), row);
+        }
+
+        List<Long> updatedIds = new ArrayList<>();
+        List<Long> restoredIds = new ArrayList<>();
+        List<ImportRow> duplicates = new ArrayList<>();
+        if (policy == DuplicatePolicy.UPDATE) {
+            jdbcTemplate.query(UPDATE_EXISTING, rs -> {
+                (rs.getBoolean(2) ? restoredIds : updatedIds).add(rs.getLong(1));
+            }, now);
+        } else {
+            Set<Long> rowNumbers = new HashSet<>(jdbcTemplate.queryForList(SELECT_DUPLICATES, Long.class));
+            for (ImportRow row : rows) {
+                if (rowNumbers.contains(row.row())) {
+                    duplicates.add(row);
+                }
+            }
+        }
+
+        // Lignes candidates à l'insertion : celles que RETURNING ne renvoie pas ont perdu une course
+        Set<String> candidates = new HashSet<>(byEmail.keySet());
+        for (ImportRow duplicate : duplicates) {
+            candidates.remove(duplicate.contact().getEmail());
+        }
+        int[] inserted = {0};
+        RowCallbackHandler returned = rs -> {
+            candidates.remove(rs.getString(2));
+            if (rs.getBoolean(3)) {
+                inserted[0]++;
+            } else {
+                updatedIds.add(rs.getLong(1));
+            }
+        };
+        if (policy == DuplicatePolicy.UPDATE) {
+            jdbcTemplate.query(INSERT_OR_UPDATE, returned, now, now, now);
+        } else {
+            jdbcTemplate.query(INSERT_OR_IGNORE, returned, now, now);
+        }
+        for (String email : candidates) {
+            duplicates.add(byEmail.get(email));
+        }
+
+        return new BulkWriteResult(inserted[0], updatedIds, restoredIds, duplicates);
+    }
+
+    /**
+     * Envoie le lot dans contacts_staging en un seul COPY (format CSV, tous les champs entre guillemets,
+     * champ absent = NULL)
+     */
+    private void copy(List<ImportRow> rows) {
+        long[] ids = idAllocator.allocate(rows.size());
+        CharArrayWriter csv = new CharArrayWriter(rows.size() * 160);
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            Contact contact = row.contact();
+            contact.setId(ids[i]);
+            csv.append(Long.toString(row.row())).append(',').append(Long.toString(ids[i]));
+            append(csv, contact.getFirstName());
+            append(csv, contact.getLastName());
+            append(csv, contact.getEmail());
+            append(csv, contact.getPhone());
+            append(csv, contact.getAddress());
+            append(csv, contact.getCity());
+            append(csv, contact.getPostalCode());
+            append(csv, contact.getCountry());
+            append(csv, contact.getCompany());
+            append(csv, contact.getJobTitle());
+            append(csv, contact.getBirthday() != null ? contact.getBirthday().toString() : null);
+            append(csv, contact.getNotes());
+            append(csv, contact.getWebsite());
+            csv.append('\n');
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn(COPY_STAGING, new CharArrayReader(csv.toCharArray()));
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY vers contacts_staging en échec : " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static void append(CharArrayWriter csv, String value) {
+        csv.append(',');
+        if (value == null) {
+            return;
+        }
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        csv.append('"');
+    }
+}
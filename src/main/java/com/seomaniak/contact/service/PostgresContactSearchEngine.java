@@ -0,0 +1,128 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.dto.FacetValueDTO;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Moteur de recherche PostgreSQL : index GIN trigramme (pg_trgm) pour les recherches
+ * par sous-chaîne et index tsvector pour les mots entiers, classement par
+ * ts_rank + similarité. Index créés par la migration V3__contacts_query_indexes.
+ */
+public class PostgresContactSearchEngine implements ContactSearchEngine {
+
+    // Même expression que dans les index de la migration : c'est ce qui permet au planner de les utiliser
+    private static final String DOCUMENT =
+            "(first_name || ' ' || last_name || ' ' || email || ' ' || " +
+            "coalesce(company, '') || ' ' || coalesce(city, ''))";
+    private static final String LOWERED = "lower" + DOCUMENT;
+    private static final String TSVECTOR = "to_tsvector('simple', " + DOCUMENT + ")";
+    private static final String TSQUERY = "plainto_tsquery('simple', :term)";
+
+    private static final String MATCH =
+            "is_deleted = false AND (" + TSVECTOR + " @@ " + TSQUERY +
+            " OR " + LOWERED + " LIKE :pattern ESCAPE '\\')";
+
+    private static final String RANK =
+            "ts_rank(" + TSVECTOR + ", " + TSQUERY + ") + similarity(" + LOWERED + ", :term) DESC, ";
+
+    // %s : correspondance (MATCH et/ou filtres de facettes), construite par where()
+    private static final String SEARCH_SQL =
+            "SELECT id FROM contacts WHERE %s ORDER BY %slast_name, id LIMIT :limit OFFSET :offset";
+
+    private static final String COUNT_SQL = "SELECT count(*) FROM contacts WHERE %s";
+
+    // Estimation du planner (statistiques de la table et des index), sans exécuter la recherche
+    private static final String ESTIMATE_SQL = "EXPLAIN (FORMAT JSON) SELECT 1 FROM contacts WHERE %s";
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    private static final String FACET_SQL = "SELECT %1$s AS facet_value, count(*) AS contacts FROM contacts"
+            + " WHERE %2$s AND %1$s IS NOT NULL AND trim(%1$s) <> ''"
+            + " GROUP BY %1$s ORDER BY contacts DESC, %1$s LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final long estimateThreshold;
+
+    public PostgresContactSearchEngine(NamedParameterJdbcTemplate jdbcTemplate, long estimateThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.estimateThreshold = estimateThreshold;
+    }
+
+    @Override
+    public Slice<Long> search(String term, ContactFilter filter, Pageable pageable) {
+        String normalized = normalize(term);
+        MapSqlParameterSource params = params(normalized, filter)
+                .addValue("limit", pageable.getPageSize() + 1)
+                .addValue("offset", pageable.getOffset());
+
+        String sql = SEARCH_SQL.formatted(where(normalized, filter), normalized.isEmpty() ? "" : RANK);
+        List<Long> ids = jdbcTemplate.queryForList(sql, params, Long.class);
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? ids.subList(0, pageable.getPageSize()) : ids,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()), hasNext);
+    }
+
+    /**
+     * Total estimé par le planner s'il dépasse {@code contact.count.estimate-threshold} (compter exactement
+     * coûterait autant que parcourir tout le résultat), sinon COUNT exact, peu coûteux sur un petit résultat
+     */
+    @Override
+    public ContactCount count(String term, ContactFilter filter) {
+        String normalized = normalize(term);
+        MapSqlParameterSource params = params(normalized, filter);
+        String where = where(normalized, filter);
+        String plan = jdbcTemplate.queryForObject(ESTIMATE_SQL.formatted(where), params, String.class);
+        Matcher rows = plan != null ? PLAN_ROWS.matcher(plan) : null;
+        if (rows != null && rows.find()) {
+            long estimate = Long.parseLong(rows.group(1));
+            if (estimate >= estimateThreshold) {
+                return new ContactCount(estimate, false);
+            }
+        }
+        Long total = jdbcTemplate.queryForObject(COUNT_SQL.formatted(where), params, Long.class);
+        return new ContactCount(total != null ? total : 0, true);
+    }
+
+    // Colonne issue de l'énumération Facet, jamais de la requête HTTP
+    @Override
+    public List<FacetValueDTO> facet(String term, ContactFilter filter, Facet facet, int limit) {
+        String normalized = normalize(term);
+        MapSqlParameterSource params = params(normalized, filter).addValue("limit", limit);
+        return jdbcTemplate.query(FACET_SQL.formatted(facet.getColumn(), where(normalized, filter)), params,
+                (rs, rowNum) -> new FacetValueDTO(rs.getString("facet_value"), rs.getLong("contacts")));
+    }
+
+    // Terme vide : filtres seuls (index partiels par colonne de facette, migration V6)
+    private static String where(String term, ContactFilter filter) {
+        StringBuilder where = new StringBuilder(term.isEmpty() ? "is_deleted = false" : MATCH);
+        for (Facet facet : Facet.values()) {
+            if (filter.value(facet) != null) {
+                where.append(" AND ").append(facet.getColumn()).append(" = :").append(facet.getColumn());
+            }
+        }
+        return where.toString();
+    }
+
+    private static MapSqlParameterSource params(String term, ContactFilter filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("term", term)
+                .addValue("pattern", "%" + ContactSearchEngine.escapeLike(term, '\\') + "%");
+        for (Facet facet : Facet.values()) {
+            params.addValue(facet.getColumn(), filter.value(facet));
+        }
+        return params;
+    }
+
+    private static String normalize(String term) {
+        return term != null ? term.trim().toLowerCase(Locale.ROOT) : "";
+    }
+}
@@ -0,0 +1,23 @@
+-- Schéma initial de la table contacts (H2, développement local)
+CREATE SEQUENCE IF NOT EXISTS contacts_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS contacts (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    first_name  VARCHAR(100) NOT NULL,
+    last_name   VARCHAR(100) NOT NULL,
+    email       VARCHAR(150) NOT NULL,
+    phone       VARCHAR(20),
+    address     VARCHAR(255),
+    city        VARCHAR(100),
+    postal_code VARCHAR(10),
+    country     VARCHAR(100),
+    company     VARCHAR(100),
+    job_title   VARCHAR(100),
+    birthday    DATE,
+    notes       VARCHAR(500),
+    website     VARCHAR(255),
+    is_deleted  BOOLEAN      NOT NULL DEFAULT FALSE,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT uk_contacts_email UNIQUE (email)
+);
@@ -0,0 +1,2 @@
+-- Pendant de la migration PostgreSQL (séquence déjà créée en V1 sur H2)
+CREATE SEQUENCE IF NOT EXISTS contacts_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,4 @@
+-- H2 ne gère pas les index partiels : is_deleted en tête de clé à la place
+CREATE INDEX IF NOT EXISTS idx_contacts_active_last_name ON contacts (is_deleted, last_name, id);
+
+CREATE INDEX IF NOT EXISTS idx_contacts_active_updated_at ON contacts (is_deleted, updated_at, id);
@@ -0,0 +1,21 @@
+-- Pendant de la migration PostgreSQL ; les lots à archiver sont lus par idx_contacts_active_updated_at
+-- (is_deleted, updated_at, id)
+CREATE TABLE IF NOT EXISTS contacts_archive (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    first_name  VARCHAR(100) NOT NULL,
+    last_name   VARCHAR(100) NOT NULL,
+    email       VARCHAR(150) NOT NULL,
+    phone       VARCHAR(20),
+    address     VARCHAR(255),
+    city        VARCHAR(100),
+    postal_code VARCHAR(10),
+    country     VARCHAR(100),
+    company     VARCHAR(100),
+    job_title   VARCHAR(100),
+    birthday    DATE,
+    notes       VARCHAR(500),
+    website     VARCHAR(255),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,19 @@
+-- Pendant de la migration PostgreSQL (sans les index partiels de la liste filtrée)
+CREATE TABLE IF NOT EXISTS contact_facets (
+    facet       VARCHAR(16)  NOT NULL,
+    facet_value VARCHAR(100) NOT NULL,
+    contacts    BIGINT       NOT NULL,
+    PRIMARY KEY (facet, facet_value)
+);
+
+CREATE INDEX IF NOT EXISTS idx_contact_facets_top ON contact_facets (facet, contacts DESC);
+
+INSERT INTO contact_facets (facet, facet_value, contacts)
+SELECT facet, facet_value, COUNT(*)
+FROM (SELECT 'city' AS facet, city AS facet_value FROM contacts WHERE is_deleted = false
+      UNION ALL
+      SELECT 'country', country FROM contacts WHERE is_deleted = false
+      UNION ALL
+      SELECT 'company', company FROM contacts WHERE is_deleted = false) v
+WHERE facet_value IS NOT NULL AND TRIM(facet_value) <> ''
+GROUP BY facet, facet_value;
@@ -0,0 +1,5 @@
+-- Bases créées du temps de la stratégie IDENTITY : la séquence peut manquer ou être en retard sur MAX(id)
+CREATE SEQUENCE IF NOT EXISTS contacts_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('contacts_seq', (SELECT MAX(id) FROM contacts))
+WHERE (SELECT MAX(id) FROM contacts) > (SELECT last_value FROM contacts_seq);
@@ -0,0 +1,28 @@
+-- Index alignés sur les requêtes réelles. Partiels (is_deleted = false) : les lignes supprimées
+-- n'y figurent pas. CONCURRENTLY pour ne pas bloquer les écritures (script hors transaction).
+-- findByIdAndNotDeleted est servi par la clé primaire.
+
+-- Liste triée par nom (findActiveIds) et curseur (lastName, id) : parcours d'index, sans tri
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contacts_active_last_name
+    ON contacts (last_name, id) WHERE is_deleted = false;
+
+-- Curseur (updatedAt, id) des clients de synchronisation
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contacts_active_updated_at
+    ON contacts (updated_at, id) WHERE is_deleted = false;
+
+-- Export en streaming (streamAllActive : contacts actifs par ID)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contacts_active_id
+    ON contacts (id) WHERE is_deleted = false;
+
+-- Recherche (PostgresContactSearchEngine) : mêmes expressions que dans les requêtes
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contacts_search_trgm
+    ON contacts USING gin (lower(first_name || ' ' || last_name || ' ' || email || ' ' ||
+                                 coalesce(company, '') || ' ' || coalesce(city, '')) gin_trgm_ops)
+    WHERE is_deleted = false;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contacts_search_fts
+    ON contacts USING gin (to_tsvector('simple', first_name || ' ' || last_name || ' ' || email || ' ' ||
+                                                  coalesce(company, '') || ' ' || coalesce(city, '')))
+    WHERE is_deleted = false;
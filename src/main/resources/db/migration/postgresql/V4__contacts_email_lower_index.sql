@@ -0,0 +1,4 @@
+-- Résolution des doublons à l'import (findExistingEmails / findByEmailsIgnoreCase) :
+-- recherche par LOWER(email), une requête IN par lot
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contacts_email_lower
+    ON contacts (lower(email));
@@ -0,0 +1,26 @@
+-- Contacts supprimés depuis plus de contact.archive.retention, déplacés hors de la table chaude
+-- par ContactArchiver. Pas de contrainte d'unicité sur l'email : il est libéré dans contacts.
+CREATE TABLE IF NOT EXISTS contacts_archive (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    first_name  VARCHAR(100) NOT NULL,
+    last_name   VARCHAR(100) NOT NULL,
+    email       VARCHAR(150) NOT NULL,
+    phone       VARCHAR(20),
+    address     VARCHAR(255),
+    city        VARCHAR(100),
+    postal_code VARCHAR(10),
+    country     VARCHAR(100),
+    company     VARCHAR(100),
+    job_title   VARCHAR(100),
+    birthday    DATE,
+    notes       VARCHAR(500),
+    website     VARCHAR(255),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL
+);
+
+-- Lots à archiver, suppressions les plus anciennes d'abord (keyset (updated_at, id)) ;
+-- partiel : seules les lignes supprimées y figurent
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contacts_deleted_updated_at
+    ON contacts (updated_at, id) WHERE is_deleted = true;
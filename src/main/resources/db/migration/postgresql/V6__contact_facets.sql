@@ -0,0 +1,33 @@
+-- Comptes des facettes de la liste (city, country, company) parmi les contacts actifs, tenus à jour
+-- par ContactFacets dans la transaction de chaque écriture et recalés en tâche de fond s'ils dérivent.
+-- Remplace un GROUP BY sur contacts à chaque affichage de la liste sans recherche.
+CREATE TABLE IF NOT EXISTS contact_facets (
+    facet       VARCHAR(16)  NOT NULL,
+    facet_value VARCHAR(100) NOT NULL,
+    contacts    BIGINT       NOT NULL,
+    PRIMARY KEY (facet, facet_value)
+);
+
+-- Valeurs les plus fréquentes d'une facette
+CREATE INDEX IF NOT EXISTS idx_contact_facets_top ON contact_facets (facet, contacts DESC);
+
+INSERT INTO contact_facets (facet, facet_value, contacts)
+SELECT facet, facet_value, COUNT(*)
+FROM (SELECT 'city' AS facet, city AS facet_value FROM contacts WHERE is_deleted = false
+      UNION ALL
+      SELECT 'country', country FROM contacts WHERE is_deleted = false
+      UNION ALL
+      SELECT 'company', company FROM contacts WHERE is_deleted = false) v
+WHERE facet_value IS NOT NULL AND trim(facet_value) <> ''
+GROUP BY facet, facet_value
+ON CONFLICT (facet, facet_value) DO NOTHING;
+
+-- Liste filtrée par facette, triée par nom (ContactRepository.FACET_FILTER) : parcours d'index, sans tri
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contacts_active_city
+    ON contacts (city, last_name, id) WHERE is_deleted = false;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contacts_active_country
+    ON contacts (country, last_name, id) WHERE is_deleted = false;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contacts_active_company
+    ON contacts (company, last_name, id) WHERE is_deleted = false;
@@ -0,0 +1,21 @@
+-- Journal des modifications des contacts (/contacts/api/changes et flux SSE), écrit par ContactChangeLog
+-- dans la transaction de chaque écriture. Les numéros sont pris sur la ligne unique de contact_change_seq,
+-- verrouillée jusqu'au commit : ils sont attribués dans l'ordre des commits, sans trou visible.
+CREATE TABLE IF NOT EXISTS contact_change_seq (
+    id         INT    NOT NULL PRIMARY KEY,
+    last_seq   BIGINT NOT NULL,
+    -- Entrées jusqu'à ce numéro supprimées (rétention) : un since= antérieur doit repartir d'un export
+    pruned_seq BIGINT NOT NULL
+);
+
+INSERT INTO contact_change_seq (id, last_seq, pruned_seq) VALUES (1, 0, 0);
+
+CREATE TABLE IF NOT EXISTS contact_changes (
+    seq        BIGINT       NOT NULL PRIMARY KEY,
+    contact_id BIGINT       NOT NULL,
+    operation  VARCHAR(8)   NOT NULL,
+    changed_at TIMESTAMP(6) NOT NULL
+);
+
+-- Purge des entrées plus anciennes que contact.changes.retention
+CREATE INDEX IF NOT EXISTS idx_contact_changes_changed_at ON contact_changes (changed_at);
@@ -0,0 +1,71 @@
+package com.seomaniak.contact.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackgroundConnectionsTest {
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void requiresAtLeastOneConnection() {
+		assertThrows(IllegalStateException.class, () -> new BackgroundConnections(registry, 0));
+	}
+
+	@Test
+	void tasksBeyondTheReservedConnectionsWaitTheirTurn() throws Exception {
+		BackgroundConnections connections = new BackgroundConnections(registry, 1);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<Void> first = CompletableFuture.runAsync(() -> connections.run(() -> {
+			started.countDown();
+			await(release);
+		}));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> connections.call(() -> "ok"));
+
+		for (int i = 0; i < 50 && gauge("contact.db.background.waiting") < 1; i++) {
+			Thread.sleep(20);
+		}
+		assertEquals(1, gauge("contact.db.background.active"));
+		assertEquals(1, gauge("contact.db.background.waiting"));
+		assertFalse(second.isDone());
+
+		release.countDown();
+		first.get(5, TimeUnit.SECONDS);
+		assertEquals("ok", second.get(5, TimeUnit.SECONDS));
+		assertEquals(0, gauge("contact.db.background.active"));
+	}
+
+	@Test
+	void failingTaskGivesItsConnectionBack() {
+		BackgroundConnections connections = new BackgroundConnections(registry, 1);
+
+		assertThrows(IllegalArgumentException.class, () -> connections.run(() -> {
+			throw new IllegalArgumentException("échec");
+		}));
+		assertEquals(0, gauge("contact.db.background.active"));
+		assertEquals("ok", connections.call(() -> "ok"));
+	}
+
+	private double gauge(String name) {
+		return registry.get(name).gauge().value();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
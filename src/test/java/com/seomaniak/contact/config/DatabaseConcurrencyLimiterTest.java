@@ -0,0 +1,92 @@
+package com.seomaniak.contact.config;
+
+import com.seomaniak.contact.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseConcurrencyLimiterTest {
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+
+	private final HandlerMethod handler = handler();
+
+	@Test
+	void quotaIsThePoolMinusReservedConnections() throws Exception {
+		// 20 - (2 imports × 3 écrivains + archivage + 2 tâches de fond) = 11
+		DatabaseConcurrencyLimiter limiter = limiter(20, 0, 2, 3, true, 2);
+
+		for (int i = 0; i < 11; i++) {
+			assertTrue(limiter.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+		}
+		assertEquals(11, registry.get("contact.db.limiter.active").gauge().value());
+		assertThrows(DatabaseBusyException.class,
+				() -> limiter.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+	}
+
+	@Test
+	void rejectsPoolsTooSmallForTheReservedConnections() {
+		// 1 × 2 écrivains + archivage + 2 tâches de fond = 5 : rien ne reste pour les requêtes
+		IllegalStateException error = assertThrows(IllegalStateException.class, () -> limiter(5, 0, 1, 2, true, 2));
+		assertTrue(error.getMessage().contains("5 connexion(s) réservée(s)"), error.getMessage());
+
+		assertDoesNotThrow(() -> limiter(5, 0, 1, 2, false, 2));
+	}
+
+	@Test
+	void rejectsAQuotaAboveTheAvailableConnections() {
+		assertThrows(IllegalStateException.class, () -> limiter(10, 6, 1, 2, true, 2));
+
+		assertDoesNotThrow(() -> limiter(10, 5, 1, 2, true, 2));
+	}
+
+	@Test
+	void answersBusyOnceNoPermitFreesUpWithinTheTimeout() throws Exception {
+		DatabaseConcurrencyLimiter limiter = limiter(10, 1, 1, 2, true, 2);
+		MockHttpServletRequest first = new MockHttpServletRequest();
+		assertTrue(limiter.preHandle(first, new MockHttpServletResponse(), handler));
+
+		long start = System.nanoTime();
+		assertThrows(DatabaseBusyException.class,
+				() -> limiter.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+		assertTrue(System.nanoTime() - start >= Duration.ofMillis(50).toNanos());
+		assertEquals(1, registry.get("contact.db.limiter.rejected").counter().count());
+
+		// Place rendue à la fin de la première requête
+		limiter.afterCompletion(first, new MockHttpServletResponse(), handler, null);
+		assertTrue(limiter.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+	}
+
+	@Test
+	void asyncRedispatchAndStaticResourcesTakeNoPermit() throws Exception {
+		DatabaseConcurrencyLimiter limiter = limiter(10, 1, 1, 2, true, 2);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		assertTrue(limiter.preHandle(request, new MockHttpServletResponse(), handler));
+
+		// Même requête redispatchée, puis ressource statique : pas de seconde place demandée
+		assertTrue(limiter.preHandle(request, new MockHttpServletResponse(), handler));
+		assertTrue(limiter.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object()));
+		assertEquals(1, registry.get("contact.db.limiter.active").gauge().value());
+	}
+
+	private DatabaseConcurrencyLimiter limiter(int poolSize, int maxConcurrent, int importJobs, int importWriters,
+											   boolean archiveEnabled, int background) {
+		return new DatabaseConcurrencyLimiter(registry, poolSize, maxConcurrent, Duration.ofMillis(50),
+				importJobs, importWriters, archiveEnabled, background);
+	}
+
+	private static HandlerMethod handler() {
+		try {
+			return new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.seomaniak.contact.config;
+
+import com.seomaniak.contact.repository.ContactRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Le « réplica » est la même base H2 en mémoire, servie par un second pool
+@SpringBootTest(properties = {"contact.database.replicas.urls=jdbc:h2:mem:contactdb;DB_CLOSE_DELAY=-1",
+		"contact.database.replicas.check-interval=100ms"})
+@ActiveProfiles("test")
+class ReadWriteRoutingDataSourceTest {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ContactRepository repository;
+
+	private ReadWriteRoutingDataSource routing;
+
+	@BeforeEach
+	void awaitReplica() throws InterruptedException {
+		routing = assertInstanceOf(ReadWriteRoutingDataSource.class, dataSource);
+		for (int i = 0; i < 50 && !routing.hasUsableReplica(); i++) {
+			Thread.sleep(100);
+		}
+		assertTrue(routing.hasUsableReplica());
+	}
+
+	@Test
+	void routesReadOnlyTransactionsToReplica() {
+		long replicaReads = routing.getReplicaReads();
+
+		inTransaction(true);
+
+		assertEquals(replicaReads + 1, routing.getReplicaReads());
+	}
+
+	@Test
+	void keepsWritesOnPrimary() {
+		long replicaReads = routing.getReplicaReads();
+		long primaryReads = routing.getPrimaryReads();
+
+		inTransaction(false);
+
+		assertEquals(replicaReads, routing.getReplicaReads());
+		assertEquals(primaryReads, routing.getPrimaryReads());
+	}
+
+	@Test
+	void pinnedReadsStayOnPrimary() {
+		long replicaReads = routing.getReplicaReads();
+		long primaryReads = routing.getPrimaryReads();
+
+		ReadWriteRoutingDataSource.pinToPrimary();
+		try {
+			inTransaction(true);
+		} finally {
+			ReadWriteRoutingDataSource.unpin();
+		}
+
+		assertEquals(replicaReads, routing.getReplicaReads());
+		assertEquals(primaryReads + 1, routing.getPrimaryReads());
+	}
+
+	private void inTransaction(boolean readOnly) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(readOnly);
+		template.executeWithoutResult(status -> repository.countActive());
+	}
+}
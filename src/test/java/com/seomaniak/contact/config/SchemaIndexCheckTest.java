@@ -0,0 +1,52 @@
+package com.seomaniak.contact.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaIndexCheckTest {
+
+	private static final String INDEX = "idx_contacts_active_updated_at";
+
+	@Autowired
+	private SchemaIndexCheck check;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void migratedSchemaHasEveryExpectedIndex() throws Exception {
+		assertEquals(List.of(), check.findMissingIndexes());
+
+		Health health = check.health();
+		assertEquals(Status.UP, health.getStatus());
+		assertEquals(List.of(), health.getDetails().get("missingIndexes"));
+	}
+
+	@Test
+	void reportsAMissingIndex() throws Exception {
+		// Renommé plutôt que supprimé : la définition propre à chaque base reste intacte
+		jdbcTemplate.execute("ALTER INDEX " + INDEX + " RENAME TO " + INDEX + "_off");
+		try {
+			assertEquals(List.of(INDEX), check.findMissingIndexes());
+
+			// Un index manquant dégrade les performances, pas la disponibilité
+			Health health = check.health();
+			assertEquals(Status.UP, health.getStatus());
+			assertEquals(List.of(INDEX), health.getDetails().get("missingIndexes"));
+		} finally {
+			jdbcTemplate.execute("ALTER INDEX " + INDEX + "_off RENAME TO " + INDEX);
+		}
+		assertEquals(List.of(), check.findMissingIndexes());
+	}
+}
@@ -0,0 +1,109 @@
+package com.seomaniak.contact.controller;
+
+import com.seomaniak.contact.model.dto.ContactRequestDTO;
+import com.seomaniak.contact.model.dto.ContactResponseDTO;
+import com.seomaniak.contact.service.ContactIntegrationTest;
+import com.seomaniak.contact.service.ContactService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ContactControllerTest extends ContactIntegrationTest {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private ContactService service;
+
+	// Construit sur le contexte partagé : pas de second contexte Spring pour @AutoConfigureMockMvc
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUpMockMvc() {
+		mvc = MockMvcBuilders.webAppContextSetup(context).build();
+	}
+
+	@Test
+	void contactIsNotResentWhileUnchanged() throws Exception {
+		Long id = save("sarah").getId();
+
+		String etag = etagOf("/contacts/api/" + id);
+		mvc.perform(get("/contacts/api/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+
+		service.update(id, request("sarah", "Durand" + tag));
+		String updated = mvc.perform(get("/contacts/api/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(etag, updated);
+	}
+
+	@Test
+	void listIsNotResentUntilAWriteIsRecorded() throws Exception {
+		Long id = save("sarah").getId();
+
+		String etag = etagOf("/contacts/api");
+		String notModified = mvc.perform(get("/contacts/api").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertEquals(etag, notModified);
+
+		service.delete(id);
+		String afterDelete = mvc.perform(get("/contacts/api").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(etag, afterDelete);
+	}
+
+	@Test
+	void ifNoneMatchUsesWeakComparison() throws Exception {
+		Long id = save("sarah").getId();
+		String etag = etagOf("/contacts/api/" + id);
+
+		// ETag fort, mais comparaison faible pour If-None-Match (RFC 9110) : W/ n'empêche pas le 304
+		assertFalse(etag.startsWith("W/"));
+		mvc.perform(get("/contacts/api/" + id).header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+				.andExpect(status().isNotModified());
+		mvc.perform(get("/contacts/api/" + id).header(HttpHeaders.IF_NONE_MATCH, "\"autre\", " + etag))
+				.andExpect(status().isNotModified());
+		mvc.perform(get("/contacts/api/" + id).header(HttpHeaders.IF_NONE_MATCH, "W/\"autre\""))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void etagCarriesTheDeploymentVersion() throws Exception {
+		Long id = save("sarah").getId();
+
+		// "<id>-<version>-<déploiement>" : un redémarrage invalide les réponses gardées par les clients
+		String etag = etagOf("/contacts/api/" + id);
+		String listEtag = etagOf("/contacts/api");
+		assertTrue(etag.matches("\"" + id + "-[0-9a-z]+-[0-9a-z]+\""), etag);
+		assertTrue(listEtag.matches("\"v[0-9a-z]+-[0-9a-z]+\""), listEtag);
+		assertEquals(etag.substring(etag.lastIndexOf('-')), listEtag.substring(listEtag.lastIndexOf('-')));
+	}
+
+	private String etagOf(String path) throws Exception {
+		String etag = mvc.perform(get(path))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotNull(etag);
+		return etag;
+	}
+
+	private ContactResponseDTO save(String name) {
+		return service.save(request(name, "Test" + tag));
+	}
+
+	private ContactRequestDTO request(String name, String lastName) {
+		return ContactRequestDTO.builder().firstName("Sarah").lastName(lastName).email(name + domain).build();
+	}
+}
@@ -0,0 +1,97 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.exception.RestoreConflictException;
+import com.seomaniak.contact.model.dto.ArchiveRunDTO;
+import com.seomaniak.contact.model.dto.ContactResponseDTO;
+import com.seomaniak.contact.model.entity.Contact;
+import com.seomaniak.contact.repository.ContactRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactArchiverTest extends ContactIntegrationTest {
+
+	@Autowired
+	private ContactArchiver archiver;
+
+	@Autowired
+	private ContactRepository repository;
+
+	@Test
+	void movesDeletedContactsInBatchesAndKeepsActiveOnes() {
+		Contact sarah = save("Sarah", "Dubois", "sarah" + domain);
+		Contact amina = save("Amina", "Tazi", "amina" + domain);
+		Contact karim = save("Karim", "Fassi", "karim" + domain);
+		Contact omar = save("Omar", "Zaki", "omar" + domain);
+		deletedAt(sarah, LocalDateTime.now().minusDays(3));
+		deletedAt(amina, LocalDateTime.now().minusDays(2));
+		deletedAt(karim, LocalDateTime.now().minusDays(1));
+
+		ArchiveRunDTO run = archiver.archive();
+
+		assertTrue(run.getRowsMoved() >= 3);
+		assertTrue(run.getBatches() >= 2);
+		assertSame(run, archiver.getLastRun());
+		assertEquals(0, countIn("contacts", "sarah" + domain, "amina" + domain, "karim" + domain));
+		assertEquals(3, countIn("contacts_archive", "sarah" + domain, "amina" + domain, "karim" + domain));
+		assertTrue(repository.findById(omar.getId()).isPresent());
+	}
+
+	@Test
+	void keepsContactsDeletedWithinRetention() {
+		Contact sarah = save("Sarah", "Dubois", "sarah" + domain);
+		deletedAt(sarah, LocalDateTime.now().plusHours(1));
+
+		archiver.archive();
+
+		assertTrue(repository.findById(sarah.getId()).isPresent());
+		assertEquals(0, countIn("contacts_archive", "sarah" + domain));
+	}
+
+	@Test
+	void restoresArchivedContactAsActive() {
+		Contact sarah = save("Sarah", "Dubois", "sarah" + domain);
+		deletedAt(sarah, LocalDateTime.now().minusDays(1));
+		archiver.archive();
+
+		ContactResponseDTO restored = archiver.restore(sarah.getId());
+
+		assertEquals(sarah.getId(), restored.getId());
+		assertEquals("sarah" + domain, restored.getEmail());
+		assertFalse(restored.getIsDeleted());
+		assertEquals(0, countIn("contacts_archive", "sarah" + domain));
+	}
+
+	@Test
+	void refusesRestoreWhenEmailWasTakenAgain() {
+		Contact sarah = save("Sarah", "Dubois", "sarah" + domain);
+		deletedAt(sarah, LocalDateTime.now().minusDays(1));
+		archiver.archive();
+		save("Sara", "Dupont", "SARAH" + domain);
+
+		assertThrows(RestoreConflictException.class, () -> archiver.restore(sarah.getId()));
+		assertEquals(1, countIn("contacts_archive", "sarah" + domain));
+	}
+
+	private Contact save(String firstName, String lastName, String email) {
+		return repository.save(Contact.builder()
+				.firstName(firstName).lastName(lastName).email(email).isDeleted(false).build());
+	}
+
+	private void deletedAt(Contact contact, LocalDateTime deletedAt) {
+		jdbcTemplate.update("UPDATE contacts SET is_deleted = true, updated_at = ? WHERE id = ?",
+				deletedAt, contact.getId());
+	}
+
+	private int countIn(String table, String... emails) {
+		int count = 0;
+		for (String email : emails) {
+			count += jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE email = ?",
+					Integer.class, email);
+		}
+		return count;
+	}
+}
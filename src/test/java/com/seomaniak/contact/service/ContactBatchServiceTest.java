@@ -0,0 +1,110 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.dto.BatchItemResultDTO;
+import com.seomaniak.contact.model.dto.BatchResultDTO;
+import com.seomaniak.contact.model.dto.ContactRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactBatchServiceTest extends ContactIntegrationTest {
+
+	@Autowired
+	private ContactBatchService batchService;
+
+	@Test
+	void createReportsAStatusPerItem() {
+		create(request("Amina", "amina" + domain));
+
+		BatchResultDTO result = batchService.create(Arrays.asList(
+				request("Sarah", "SARAH" + domain.toUpperCase()),
+				request("Karim", "pas-un-email"),
+				request("Sarah", "sarah" + domain),
+				request("Amina", "amina" + domain),
+				null));
+
+		assertEquals(List.of("CREATED", "INVALID", "CONFLICT", "CONFLICT", "INVALID"), statuses(result));
+		assertEquals(5, result.getTotal());
+		assertEquals(1, result.getSucceeded());
+		assertEquals(4, result.getFailed());
+		assertNotNull(result.getItems().get(0).getId());
+		assertTrue(result.getItems().get(0).getErrors().isEmpty());
+		assertFalse(result.getItems().get(1).getErrors().isEmpty());
+		// Email enregistré en minuscules, comme à l'import CSV
+		assertEquals("sarah" + domain, jdbcTemplate.queryForObject("SELECT email FROM contacts WHERE id = ?",
+				String.class, result.getItems().get(0).getId()));
+	}
+
+	@Test
+	void failedChunkMarksItsPendingItemsWithoutStoppingTheNextOnes() {
+		// Contrainte que la validation ignore : le lot échoue au flush
+		String constraint = "ck_" + tag;
+		jdbcTemplate.execute("ALTER TABLE contacts ADD CONSTRAINT " + constraint
+				+ " CHECK (first_name <> 'Echec" + tag + "')");
+		try {
+			BatchResultDTO result = batchService.create(List.of(
+					request("Amina", "amina" + domain),
+					request("Echec" + tag, "echec" + domain),
+					request("K", "karim" + domain),
+					request("Sarah", "sarah" + domain)));
+
+			assertEquals(List.of("FAILED", "FAILED", "INVALID", "CREATED"), statuses(result));
+			assertEquals(1, result.getSucceeded());
+		} finally {
+			jdbcTemplate.execute("ALTER TABLE contacts DROP CONSTRAINT " + constraint);
+		}
+		assertEquals(List.of("sarah" + domain), jdbcTemplate.queryForList(
+				"SELECT email FROM contacts WHERE email LIKE ?", String.class, "%" + domain));
+	}
+
+	@Test
+	void updateKeepsFieldsLeftNull() {
+		ContactRequestDTO sarah = request("Sarah", "sarah" + domain);
+		sarah.setCompany("Acme");
+		sarah.setCity("Rabat");
+		Long id = create(sarah);
+
+		ContactRequestDTO patch = ContactRequestDTO.builder().id(id).lastName("Durand" + tag).company("").build();
+		BatchResultDTO result = batchService.update(List.of(patch,
+				ContactRequestDTO.builder().id(Long.MAX_VALUE).lastName("Durand").build()));
+
+		assertEquals(List.of("UPDATED", "NOT_FOUND"), statuses(result));
+		Map<String, Object> row = jdbcTemplate.queryForMap(
+				"SELECT first_name, last_name, email, company, city FROM contacts WHERE id = ?", id);
+		assertEquals("Sarah", row.get("FIRST_NAME"));
+		assertEquals("Durand" + tag, row.get("LAST_NAME"));
+		assertEquals("sarah" + domain, row.get("EMAIL"));
+		assertEquals("", row.get("COMPANY"));
+		assertEquals("Rabat", row.get("CITY"));
+	}
+
+	@Test
+	void deleteReportsMissingAndDuplicateIds() {
+		Long id = create(request("Sarah", "sarah" + domain));
+
+		BatchResultDTO result = batchService.delete(Arrays.asList(id, Long.MAX_VALUE, id, null));
+		assertEquals(List.of("DELETED", "NOT_FOUND", "CONFLICT", "INVALID"), statuses(result));
+
+		// Déjà supprimé : plus actif
+		assertEquals(List.of("NOT_FOUND"), statuses(batchService.delete(List.of(id))));
+	}
+
+	private Long create(ContactRequestDTO request) {
+		BatchResultDTO result = batchService.create(List.of(request));
+		assertEquals(List.of("CREATED"), statuses(result));
+		return result.getItems().get(0).getId();
+	}
+
+	private ContactRequestDTO request(String firstName, String email) {
+		return ContactRequestDTO.builder().firstName(firstName).lastName("Test" + tag).email(email).build();
+	}
+
+	private static List<String> statuses(BatchResultDTO result) {
+		return result.getItems().stream().map(BatchItemResultDTO::getStatus).toList();
+	}
+}
@@ -0,0 +1,93 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.config.ReadWriteRoutingDataSource;
+import com.seomaniak.contact.model.dto.ContactRequestDTO;
+import com.seomaniak.contact.model.dto.ContactResponseDTO;
+import com.seomaniak.contact.repository.ContactRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Réplica en retard : base H2 distincte, qui ne reçoit que les lignes que le test y recopie
+@TestPropertySource(properties = {"contact.database.replicas.urls=" + ContactCacheTest.REPLICA_URL,
+		"contact.database.replicas.check-interval=100ms"})
+class ContactCacheTest extends ContactIntegrationTest {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:contactreplica;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private ContactService service;
+
+	@Autowired
+	private ContactCache cache;
+
+	@Autowired
+	private ContactRepository repository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private JdbcTemplate replica;
+
+	@BeforeEach
+	void awaitReplica() throws InterruptedException {
+		replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+		replica.execute("RUNSCRIPT FROM 'classpath:db/migration/h2/V1__create_contacts.sql'");
+
+		ReadWriteRoutingDataSource routing = assertInstanceOf(ReadWriteRoutingDataSource.class, dataSource);
+		for (int i = 0; i < 50 && !routing.hasUsableReplica(); i++) {
+			Thread.sleep(100);
+		}
+		assertTrue(routing.hasUsableReplica());
+	}
+
+	@AfterEach
+	void cleanUpReplica() {
+		replica.update("DELETE FROM contacts WHERE email LIKE ?", "%" + domain);
+	}
+
+	@Test
+	void missAfterUpdateIsLoadedFromPrimary() throws Exception {
+		ContactResponseDTO sarah = service.save(request("Dubois"));
+		// Le réplica n'a rejoué que la création
+		replica.update("INSERT INTO contacts (id, first_name, last_name, email, is_deleted, created_at)"
+				+ " VALUES (?, ?, ?, ?, false, ?)", sarah.getId(), sarah.getFirstName(), "Dubois",
+				sarah.getEmail(), sarah.getCreatedAt());
+		service.update(sarah.getId(), request("Durand"));
+		assertEquals("Dubois", replicaLastName(sarah.getId()));
+
+		// Autre client : ni cookie de lecture de ses écritures, ni épinglage sur son thread
+		ContactResponseDTO read = CompletableFuture.supplyAsync(() -> service.findById(sarah.getId()))
+				.get(10, TimeUnit.SECONDS);
+
+		assertEquals("Durand", read.getLastName());
+		assertEquals("Durand", cache.getIfPresent(sarah.getId()).getLastName());
+	}
+
+	// Lecture seule hors cache : routée vers le réplica
+	private String replicaLastName(Long id) {
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		return readOnly.execute(status -> repository.findByIdAndNotDeleted(id).orElseThrow().getLastName());
+	}
+
+	private ContactRequestDTO request(String lastName) {
+		return ContactRequestDTO.builder()
+				.firstName("sarah").lastName(lastName).email("sarah" + domain).build();
+	}
+}
@@ -0,0 +1,92 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.exception.ChangeFeedExpiredException;
+import com.seomaniak.contact.model.dto.ContactChangeDTO;
+import com.seomaniak.contact.model.dto.ContactChangesPageDTO;
+import com.seomaniak.contact.model.dto.ContactRequestDTO;
+import com.seomaniak.contact.model.dto.ContactResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactChangeLogTest extends ContactIntegrationTest {
+
+	@Autowired
+	private ContactChangeLog changeLog;
+
+	@Autowired
+	private ContactService service;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void recordsWritesInOrderWithCurrentState() {
+		long since = changeLog.lastSeq();
+		ContactResponseDTO sarah = service.save(request("sarah", "Dubois"));
+		service.update(sarah.getId(), request("sarah", "Durand"));
+
+		ContactChangesPageDTO page = changeLog.changes(since, 10);
+		assertEquals(List.of("CREATED", "UPDATED"), page.getChanges().stream().map(ContactChangeDTO::getOperation).toList());
+		assertEquals(since + 2, page.getNextSince());
+		assertFalse(page.isHasMore());
+		assertEquals("Durand", page.getChanges().get(0).getContact().getLastName());
+
+		service.delete(sarah.getId());
+		ContactChangeDTO deleted = changeLog.changes(page.getNextSince(), 10).getChanges().get(0);
+		assertEquals("DELETED", deleted.getOperation());
+		assertEquals(sarah.getId(), deleted.getContactId());
+		assertNull(deleted.getContact());
+	}
+
+	@Test
+	void rolledBackTransactionLeavesNoEntry() {
+		long since = changeLog.lastSeq();
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			changeLog.record(ChangeOperation.UPDATED, 42L);
+			status.setRollbackOnly();
+		});
+
+		assertEquals(since, changeLog.lastSeq());
+		assertTrue(changeLog.changes(since, 10).getChanges().isEmpty());
+	}
+
+	@Test
+	void pagesByKeyset() {
+		long since = changeLog.lastSeq();
+		service.save(request("sarah", "Dubois"));
+		service.save(request("amina", "Tazi"));
+		service.save(request("karim", "Fassi"));
+
+		ContactChangesPageDTO first = changeLog.changes(since, 2);
+		assertEquals(2, first.getChanges().size());
+		assertTrue(first.isHasMore());
+
+		ContactChangesPageDTO second = changeLog.changes(first.getNextSince(), 2);
+		assertEquals(1, second.getChanges().size());
+		assertFalse(second.isHasMore());
+		assertEquals("karim" + domain, second.getChanges().get(0).getContact().getEmail());
+	}
+
+	@Test
+	void refusesCursorBehindPrunedEntries() {
+		long since = changeLog.lastSeq();
+		service.save(request("sarah", "Dubois"));
+
+		assertTrue(changeLog.prune() > 0);
+
+		assertThrows(ChangeFeedExpiredException.class, () -> changeLog.changes(since, 10));
+		assertTrue(changeLog.changes(changeLog.lastSeq(), 10).getChanges().isEmpty());
+	}
+
+	private ContactRequestDTO request(String firstName, String lastName) {
+		return ContactRequestDTO.builder()
+				.firstName(firstName).lastName(lastName).email(firstName + domain).build();
+	}
+}
@@ -0,0 +1,99 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.exception.InvalidCursorException;
+import com.seomaniak.contact.model.dto.ContactRequestDTO;
+import com.seomaniak.contact.model.dto.ContactResponseDTO;
+import com.seomaniak.contact.model.dto.CursorPageDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactCursorTest extends ContactIntegrationTest {
+
+	@Autowired
+	private ContactService service;
+
+	@Test
+	void decodesWhatItEncodes() {
+		ContactCursor byName = new ContactCursor(ContactCursor.SortKey.LAST_NAME, "Éluard:Dupont", null, 42L);
+		ContactCursor byDate = new ContactCursor(ContactCursor.SortKey.UPDATED_AT, null,
+				LocalDateTime.of(2025, 1, 31, 10, 15, 30, 123_456_000), 7L);
+
+		assertEquals(byName, ContactCursor.decode(byName.encode()));
+		assertEquals(byDate, ContactCursor.decode(byDate.encode()));
+		// Base64 URL sans remplissage : utilisable tel quel dans une query string
+		assertTrue(byName.encode().matches("[A-Za-z0-9_-]+"));
+	}
+
+	@Test
+	void rejectsInvalidOrTamperedCursors() {
+		for (String raw : List.of("n:42", "x:42:Dubois", "n:abc:Dubois", "u:42:31/01/2025", "u::2025-01-31T10:15:30")) {
+			assertThrows(InvalidCursorException.class, () -> ContactCursor.decode(encode(raw)), raw);
+		}
+		assertThrows(InvalidCursorException.class, () -> ContactCursor.decode("pas un curseur!"));
+		assertThrows(InvalidCursorException.class, () -> service.findPage("%%%", ContactCursor.SortKey.LAST_NAME, 10));
+	}
+
+	@Test
+	void walksTiesOnceInIdOrder() {
+		List<Long> ids = new ArrayList<>();
+		for (String name : new String[]{"amina", "hugo", "karim", "lina", "sarah"}) {
+			ids.add(save(name, "Dubois" + tag).getId());
+		}
+
+		List<Long> seen = walk(2, null);
+
+		assertEquals(ids.stream().sorted().toList(), seen);
+	}
+
+	@Test
+	void insertsDuringTheWalkNeitherRepeatNorSkipRows() {
+		List<Long> ids = new ArrayList<>();
+		for (String name : new String[]{"amina", "hugo", "karim", "lina"}) {
+			ids.add(save(name, "Dubois" + tag).getId());
+		}
+
+		List<Long> seen = walk(2, () -> {
+			// Avant la position atteinte : jamais lu ; après (même nom, ID plus grand) : lu une fois
+			save("aubert", "Aubert" + tag);
+			ids.add(save("sarah", "Dubois" + tag).getId());
+		});
+
+		assertEquals(ids, seen);
+	}
+
+	// Parcours complet ; duringWalk s'exécute une fois, après la première page contenant un contact du test
+	private List<Long> walk(int size, Runnable duringWalk) {
+		List<Long> seen = new ArrayList<>();
+		String cursor = null;
+		boolean pending = duringWalk != null;
+		do {
+			CursorPageDTO<ContactResponseDTO> page = service.findPage(cursor, ContactCursor.SortKey.LAST_NAME, size);
+			page.getItems().stream()
+					.filter(contact -> contact.getEmail().endsWith(domain))
+					.forEach(contact -> seen.add(contact.getId()));
+			cursor = page.getNextCursor();
+			if (pending && !seen.isEmpty()) {
+				duringWalk.run();
+				pending = false;
+			}
+		} while (cursor != null);
+		return seen;
+	}
+
+	private ContactResponseDTO save(String name, String lastName) {
+		return service.save(ContactRequestDTO.builder()
+				.firstName("Test").lastName(lastName).email(name + domain).build());
+	}
+
+	private static String encode(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
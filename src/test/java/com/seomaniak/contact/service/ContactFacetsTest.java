@@ -0,0 +1,89 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.dto.ContactRequestDTO;
+import com.seomaniak.contact.model.dto.ContactResponseDTO;
+import com.seomaniak.contact.model.dto.FacetValueDTO;
+import com.seomaniak.contact.model.dto.FacetsDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactFacetsTest extends ContactIntegrationTest {
+
+	@Autowired
+	private ContactFacets facets;
+
+	@Autowired
+	private ContactService service;
+
+	private final String casablanca = "Casablanca-" + tag;
+	private final String rabat = "Rabat-" + tag;
+
+	@Test
+	void countsFollowCreateUpdateAndDelete() {
+		ContactResponseDTO sarah = save("sarah", casablanca, "Maroc-" + tag);
+		save("omar", casablanca, "Maroc-" + tag);
+		assertEquals(2, stored("city", casablanca));
+		assertEquals(2, stored("country", "Maroc-" + tag));
+
+		service.update(sarah.getId(), request("sarah", rabat, "Maroc-" + tag));
+		assertEquals(1, stored("city", casablanca));
+		assertEquals(1, stored("city", rabat));
+		assertEquals(2, stored("country", "Maroc-" + tag));
+
+		service.delete(sarah.getId());
+		assertEquals(0, stored("city", rabat));
+		assertEquals(1, stored("country", "Maroc-" + tag));
+	}
+
+	@Test
+	void searchFacetsIgnoreTheirOwnFilter() {
+		save("sarah", casablanca, "Maroc-" + tag);
+		save("omar", casablanca, "Maroc-" + tag);
+		save("amina", rabat, "France-" + tag);
+
+		FacetsDTO all = facets.facets(tag, ContactFilter.NONE, 10);
+		assertEquals(List.of(new Count(casablanca, 2), new Count(rabat, 1)), counts(all.getCity()));
+
+		FacetsDTO inRabat = facets.facets(tag, new ContactFilter(rabat, null, null), 10);
+		assertEquals(List.of(new Count(casablanca, 2), new Count(rabat, 1)), counts(inRabat.getCity()));
+		assertEquals(List.of(new Count("France-" + tag, 1)), counts(inRabat.getCountry()));
+	}
+
+	@Test
+	void rebuildsAfterDrift() {
+		ContactResponseDTO sarah = save("sarah", casablanca, null);
+		// Écriture hors application : contact_facets n'en sait rien
+		jdbcTemplate.update("UPDATE contacts SET city = ? WHERE id = ?", rabat, sarah.getId());
+
+		assertTrue(facets.reconcile());
+		assertEquals(0, stored("city", casablanca));
+		assertEquals(1, stored("city", rabat));
+		assertFalse(facets.reconcile());
+	}
+
+	private long stored(String facet, String value) {
+		List<Long> contacts = jdbcTemplate.queryForList(
+				"SELECT contacts FROM contact_facets WHERE facet = ? AND facet_value = ?", Long.class, facet, value);
+		return contacts.isEmpty() ? 0 : contacts.get(0);
+	}
+
+	private ContactResponseDTO save(String name, String city, String country) {
+		return service.save(request(name, city, country));
+	}
+
+	private ContactRequestDTO request(String name, String city, String country) {
+		return ContactRequestDTO.builder()
+				.firstName(name).lastName("Test").email(name + domain).city(city).country(country).build();
+	}
+
+	private static List<Count> counts(List<FacetValueDTO> values) {
+		return values.stream().map(value -> new Count(value.getValue(), value.getCount())).toList();
+	}
+
+	private record Count(String value, long count) {
+	}
+}
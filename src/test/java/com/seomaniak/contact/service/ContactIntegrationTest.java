@@ -0,0 +1,32 @@
+package com.seomaniak.contact.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+/**
+ * Base des tests d'intégration : contexte partagé (profil {@code test}), données marquées par un suffixe
+ * propre à chaque test et supprimées après lui
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public abstract class ContactIntegrationTest {
+
+	@Autowired
+	protected JdbcTemplate jdbcTemplate;
+
+	// Suffixe unique : noms, villes et emails du test ne se mêlent pas à ceux des autres
+	protected final String tag = "zq" + UUID.randomUUID().toString().replace("-", "");
+	protected final String domain = "@" + tag + ".test";
+
+	@AfterEach
+	protected void cleanUpTestData() {
+		jdbcTemplate.update("DELETE FROM contacts WHERE email LIKE ?", "%" + domain);
+		jdbcTemplate.update("DELETE FROM contacts_archive WHERE email LIKE ?", "%" + domain);
+		jdbcTemplate.update("DELETE FROM contact_facets WHERE facet_value LIKE ?", "%" + tag);
+	}
+}
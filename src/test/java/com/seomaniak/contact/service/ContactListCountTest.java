@@ -0,0 +1,61 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.dto.ContactPageDTO;
+import com.seomaniak.contact.model.dto.ContactRequestDTO;
+import com.seomaniak.contact.model.dto.ContactSummaryDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactListCountTest extends ContactIntegrationTest {
+
+	@Autowired
+	private ContactService service;
+
+	@Autowired
+	private ContactCounter counter;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Test
+	void pagesReuseMaintainedTotals() throws InterruptedException {
+		for (String name : new String[]{"amina", "karim", "sarah"}) {
+			service.save(ContactRequestDTO.builder()
+					.firstName(name).lastName("Test" + tag).email(name + domain).build());
+		}
+		// COUNT de démarrage, fait en arrière-plan : terminé avant de relever les compteurs
+		for (int i = 0; i < 100 && !counter.countActive().exact(); i++) {
+			Thread.sleep(50);
+		}
+		assertTrue(counter.countActive().exact());
+		// Premier passage : total de la recherche chargé
+		list(null, 0);
+		list(tag, 0);
+		double counts = countQueries();
+
+		for (int page = 0; page < 3; page++) {
+			list(null, page);
+			ContactPageDTO<ContactSummaryDTO> search = list(tag, page);
+			assertEquals(3, search.getTotalElements());
+		}
+
+		assertEquals(counts, countQueries());
+	}
+
+	private ContactPageDTO<ContactSummaryDTO> list(String search, int page) {
+		return service.findAll(search, ContactFilter.NONE, PageRequest.of(page, 1));
+	}
+
+	// Appels des méthodes count* du repository (métriques spring.data.repository.invocations)
+	private double countQueries() {
+		return registry.find("spring.data.repository.invocations").timers().stream()
+				.filter(timer -> String.valueOf(timer.getId().getTag("method")).startsWith("count"))
+				.mapToDouble(Timer::count)
+				.sum();
+	}
+}
@@ -0,0 +1,40 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.dto.ContactRequestDTO;
+import com.seomaniak.contact.model.dto.ContactResponseDTO;
+import com.seomaniak.contact.model.dto.ContactSummaryDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactSearchTest extends ContactIntegrationTest {
+
+	@Autowired
+	private ContactService service;
+
+	@Test
+	void wildcardsInTermAreMatchedLiterally() {
+		ContactResponseDTO underscore = save("sarah", "Atlas_" + tag);
+		save("karim", "Atlasx" + tag);
+		ContactResponseDTO percent = save("amina", "Remise 100%" + tag);
+
+		assertEquals(List.of(underscore.getId()), search("atlas_" + tag));
+		assertEquals(List.of(percent.getId()), search("100%" + tag));
+		assertEquals(List.of(), search("%_" + tag));
+	}
+
+	private List<Long> search(String term) {
+		return service.findAll(term, ContactFilter.NONE, PageRequest.of(0, 10)).getContent().stream()
+				.map(ContactSummaryDTO::getId)
+				.toList();
+	}
+
+	private ContactResponseDTO save(String firstName, String company) {
+		return service.save(ContactRequestDTO.builder()
+				.firstName(firstName).lastName("Test").email(firstName + domain).company(company).build());
+	}
+}
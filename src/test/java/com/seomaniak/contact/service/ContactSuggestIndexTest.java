@@ -0,0 +1,151 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.dto.ContactRequestDTO;
+import com.seomaniak.contact.model.dto.ContactResponseDTO;
+import com.seomaniak.contact.model.dto.ContactSuggestionDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactSuggestIndexTest extends ContactIntegrationTest {
+
+	@Autowired
+	private ContactSuggestIndex index;
+
+	@Autowired
+	private ContactService service;
+
+	@Autowired
+	private ContactChangeLog changeLog;
+
+	@Autowired
+	private ContactBatchService batchService;
+
+	@Test
+	void suggestsByPrefixIgnoringCaseAndAccents() {
+		ContactResponseDTO helene = save("Hélène", "Éluard" + tag, "helene" + domain, "Société Générale");
+		save("Hugo", "Martin" + tag, "hugo" + domain, null);
+
+		List<ContactSuggestionDTO> byName = index.suggest("ELUARD" + tag.toUpperCase(), 10);
+		assertEquals(List.of(helene.getId()), ids(byName));
+		assertEquals("Hélène", byName.get(0).getFirstName());
+		assertEquals(List.of(helene.getId()), ids(index.suggest("helene eluard" + tag, 10)));
+		assertEquals(List.of(helene.getId()), ids(index.suggest("HELENE" + domain, 10)));
+		assertTrue(index.suggest(" ", 10).isEmpty());
+	}
+
+	@Test
+	void followsUpdatesAndDeletes() {
+		ContactResponseDTO sarah = save("Sarah", "Dubois" + tag, "sarah" + domain, null);
+
+		service.update(sarah.getId(), request("Sarah", "Durand" + tag, "sarah" + domain, null));
+		assertTrue(index.suggest("dubois" + tag, 10).isEmpty());
+		assertEquals(List.of(sarah.getId()), ids(index.suggest("durand" + tag, 10)));
+
+		service.delete(sarah.getId());
+		assertTrue(index.suggest("durand" + tag, 10).isEmpty());
+	}
+
+	@Test
+	void ignoresCallbacksOlderThanTheKnownVersion() {
+		ContactResponseDTO sarah = save("Sarah", "Dubois" + tag, "sarah" + domain, null);
+		long version = changeLog.lastSeq();
+		ContactSuggestionDTO renamed = new ContactSuggestionDTO(sarah.getId(), "Sarah", "Durand" + tag,
+				"sarah" + domain, null);
+
+		// Modification commitée avant la suppression, mais rappel après commit exécuté en dernier
+		index.applyRemove(List.of(sarah.getId()), version + 2);
+		index.apply(List.of(renamed), version + 1);
+		assertTrue(index.suggest("durand" + tag, 10).isEmpty());
+
+		// Restauration commitée après la suppression
+		index.apply(List.of(renamed), version + 3);
+		assertEquals(List.of(sarah.getId()), ids(index.suggest("durand" + tag, 10)));
+		index.apply(List.of(new ContactSuggestionDTO(sarah.getId(), "Sarah", "Dubois" + tag, "sarah" + domain, null)),
+				version + 1);
+		assertEquals(List.of(sarah.getId()), ids(index.suggest("durand" + tag, 10)));
+	}
+
+	@Test
+	void unversionedWriteDoesNotResurrectADeletedContact() {
+		ContactResponseDTO sarah = save("Sarah", "Dubois" + tag, "sarah" + domain, null);
+		ContactSuggestionDTO stale = new ContactSuggestionDTO(sarah.getId(), "Sarah", "Dubois" + tag,
+				"sarah" + domain, null);
+
+		service.delete(sarah.getId());
+		index.apply(List.of(stale), 0);
+		assertTrue(index.suggest("dubois" + tag, 10).isEmpty());
+
+		// La pierre tombale reste en place pour les rappels versionnés suivants
+		index.apply(List.of(stale), changeLog.lastSeq() - 1);
+		assertTrue(index.suggest("dubois" + tag, 10).isEmpty());
+	}
+
+	@Test
+	void batchCreateRacingABatchDeleteLeavesNoDeletedSuggestion() {
+		CompletableFuture<Void> creator = CompletableFuture.runAsync(() -> {
+			for (int round = 0; round < 30; round++) {
+				List<ContactRequestDTO> batch = new ArrayList<>();
+				for (int i = 0; i < 4; i++) {
+					batch.add(request("Sarah", tag + "r" + round + "i" + i, "r" + round + "i" + i + domain, null));
+				}
+				batchService.create(batch);
+			}
+		});
+		while (!creator.isDone()) {
+			deleteActive();
+		}
+		creator.join();
+		deleteActive();
+
+		assertEquals(0, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM contacts WHERE email LIKE ? AND is_deleted = false", Integer.class, "%" + domain));
+		assertTrue(index.suggest(tag, 200).isEmpty());
+	}
+
+	@Test
+	void ordersByMatchedKeyAndHonoursLimit() {
+		ContactResponseDTO b = save("Bruno", tag + "b", "bruno" + domain, null);
+		ContactResponseDTO a = save("Alice", tag + "a", "alice" + domain, null);
+		save("Chloé", tag + "c", "chloe" + domain, null);
+
+		assertEquals(List.of(a.getId(), b.getId()), ids(index.suggest(tag, 2)));
+	}
+
+	@Test
+	void keepsSuggestionsAcrossRebuild() {
+		ContactResponseDTO sarah = save("Sarah", "Dubois" + tag, "sarah" + domain, null);
+
+		index.rebuild();
+
+		assertEquals(List.of(sarah.getId()), ids(index.suggest("dubois" + tag, 10)));
+		assertTrue(index.stats().getKeys() > 0);
+		assertTrue(index.stats().getEstimatedBytes() > 0);
+	}
+
+	private void deleteActive() {
+		List<Long> active = jdbcTemplate.queryForList(
+				"SELECT id FROM contacts WHERE email LIKE ? AND is_deleted = false", Long.class, "%" + domain);
+		if (!active.isEmpty()) {
+			batchService.delete(active);
+		}
+	}
+
+	private ContactResponseDTO save(String firstName, String lastName, String email, String company) {
+		return service.save(request(firstName, lastName, email, company));
+	}
+
+	private static ContactRequestDTO request(String firstName, String lastName, String email, String company) {
+		return ContactRequestDTO.builder()
+				.firstName(firstName).lastName(lastName).email(email).company(company).build();
+	}
+
+	private static List<Long> ids(List<ContactSuggestionDTO> suggestions) {
+		return suggestions.stream().map(ContactSuggestionDTO::getId).toList();
+	}
+}
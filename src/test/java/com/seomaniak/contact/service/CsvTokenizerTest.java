@@ -0,0 +1,105 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.model.entity.Contact;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvTokenizerTest {
+
+	@Test
+	void detectsSeparatorOnceFromHeader() throws IOException {
+		List<List<String>> records = tokenize("a,b,c\n1;2,3\n");
+
+		assertEquals(List.of("a", "b", "c"), records.get(0));
+		assertEquals(List.of("1;2", "3"), records.get(1));
+	}
+
+	@Test
+	void handlesEscapedQuotesAndEmbeddedNewlines() throws IOException {
+		List<List<String>> records = tokenize("nom;notes\r\n\"Tazi\";\"ligne 1\nligne \"\"2\"\"\"\r\nBenali;;\n");
+
+		assertEquals(3, records.size());
+		assertEquals(List.of("Tazi", "ligne 1\nligne \"2\""), records.get(1));
+		assertEquals(Arrays.asList("Benali", null, null), records.get(2));
+	}
+
+	@Test
+	void skipsBomAndBlankLines() throws IOException {
+		List<List<String>> records = tokenize("\uFEFFprenom;nom\n\n  Sarah ; Dubois \n\n");
+
+		assertEquals(2, records.size());
+		assertEquals(List.of("prenom", "nom"), records.get(0));
+		assertEquals(List.of("Sarah", "Dubois"), records.get(1));
+	}
+
+	@Test
+	void reimportsExportedRows() throws IOException {
+		Contact contact = Contact.builder()
+				.id(7L).firstName("Amina").lastName("El Amrani").email("amina@example.ma")
+				.phone("+212600000000").city("Fès").birthday(LocalDate.of(1990, 5, 17))
+				.website("https://example.ma").build();
+		StringWriter csv = new StringWriter();
+		csv.write(CsvService.CSV_HEADER);
+		CsvService.writeCsvRow(csv, contact);
+
+		CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv.toString()));
+		assertTrue(tokenizer.nextRecord());
+		CsvColumns columns = CsvColumns.fromHeader(tokenizer);
+		assertTrue(tokenizer.nextRecord());
+		// Même chemin que l'import : bloc d'enregistrements, puis requête normalisée
+		CsvColumns.Records records = new CsvColumns.Records(columns, ImportPipeline.BLOCK_SIZE);
+		records.add(tokenizer);
+		Contact imported = CsvService.toContact(CsvService.toRequest(records, 0));
+
+		assertEquals("Amina", imported.getFirstName());
+		assertEquals("El Amrani", imported.getLastName());
+		assertEquals("amina@example.ma", imported.getEmail());
+		assertEquals("+212600000000", imported.getPhone());
+		assertEquals("Fès", imported.getCity());
+		assertEquals(LocalDate.of(1990, 5, 17), imported.getBirthday());
+		assertEquals("https://example.ma", imported.getWebsite());
+		assertNull(imported.getNotes());
+	}
+
+	@Test
+	void recordsKeepOnlyMappedColumnsOfEachRow() throws IOException {
+		CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(
+				"ID;Prénom;Nom;Email;Colonne inconnue;Ville\n1; Sarah ;Dubois;sarah@example.ma;x;Fès\n2;Karim;Fassi;karim@example.ma;y\n"));
+		assertTrue(tokenizer.nextRecord());
+		CsvColumns columns = CsvColumns.fromHeader(tokenizer);
+		CsvColumns.Records records = new CsvColumns.Records(columns, 1);
+		while (tokenizer.nextRecord()) {
+			records.add(tokenizer);
+		}
+
+		assertEquals(2, records.size());
+		assertEquals("Sarah", records.value(0, CsvColumns.Field.FIRST_NAME));
+		assertEquals("Fès", records.value(0, CsvColumns.Field.CITY));
+		assertEquals("karim@example.ma", records.value(1, CsvColumns.Field.EMAIL));
+		// Ville absente de la seconde ligne, société absente de l'en-tête
+		assertNull(records.value(1, CsvColumns.Field.CITY));
+		assertNull(records.value(0, CsvColumns.Field.COMPANY));
+	}
+
+	private static List<List<String>> tokenize(String csv) throws IOException {
+		CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv));
+		List<List<String>> records = new ArrayList<>();
+		while (tokenizer.nextRecord()) {
+			List<String> fields = new ArrayList<>();
+			for (int i = 0; i < tokenizer.fieldCount(); i++) {
+				fields.add(tokenizer.field(i));
+			}
+			records.add(fields);
+		}
+		return records;
+	}
+}
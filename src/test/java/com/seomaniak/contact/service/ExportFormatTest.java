@@ -0,0 +1,136 @@
+package com.seomaniak.contact.service;
+
+import com.seomaniak.contact.exception.InvalidExportFormatException;
+import com.seomaniak.contact.model.entity.Contact;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportFormatTest {
+
+	private static final Contact CONTACT = Contact.builder()
+			.id(7L).firstName("Amina").lastName("El Amrani").email("amina@example.ma")
+			.company("Atlas; \"Conseil\"").city("Fès").birthday(LocalDate.of(1990, 5, 17))
+			.notes("ligne 1\nligne 2, suite\\fin\t.")
+			.createdAt(LocalDateTime.of(2024, 3, 1, 9, 30, 15))
+			.build();
+
+	@Test
+	void csvQuotesFieldsWithSeparatorQuoteOrNewline() {
+		assertEquals("Fès", CsvService.escapeSpecialCharacters("Fès"));
+		assertEquals("\"a;b\"", CsvService.escapeSpecialCharacters("a;b"));
+		assertEquals("\"dit \"\"oui\"\"\"", CsvService.escapeSpecialCharacters("dit \"oui\""));
+		assertEquals("\"l1\nl2\"", CsvService.escapeSpecialCharacters("l1\nl2"));
+		assertEquals("\"l1\r\nl2\"", CsvService.escapeSpecialCharacters("l1\r\nl2"));
+		assertEquals("", CsvService.escapeSpecialCharacters(null));
+	}
+
+	@Test
+	void csvRowWithSpecialCharactersIsReimportedUnchanged() throws IOException {
+		String csv = write(ExportFormat.CSV);
+		assertTrue(csv.startsWith("\uFEFF"));
+
+		CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv));
+		assertTrue(tokenizer.nextRecord());
+		CsvColumns columns = CsvColumns.fromHeader(tokenizer);
+		assertTrue(tokenizer.nextRecord());
+		// Même chemin que l'import : bloc d'enregistrements, puis requête normalisée
+		CsvColumns.Records records = new CsvColumns.Records(columns, ImportPipeline.BLOCK_SIZE);
+		records.add(tokenizer);
+		Contact imported = CsvService.toContact(CsvService.toRequest(records, 0));
+
+		assertEquals("Atlas; \"Conseil\"", imported.getCompany());
+		assertEquals(CONTACT.getNotes(), imported.getNotes());
+		assertEquals("Fès", imported.getCity());
+		assertFalse(tokenizer.nextRecord());
+	}
+
+	@Test
+	void jsonEscapesQuotesBackslashesAndControlCharacters() {
+		assertEquals("\"Fès\"", ExportFormat.escapeJson("Fès"));
+		assertEquals("\"dit \\\"oui\\\"\"", ExportFormat.escapeJson("dit \"oui\""));
+		assertEquals("\"a\\\\b\"", ExportFormat.escapeJson("a\\b"));
+		assertEquals("\"l1\\nl2\\r\\t\"", ExportFormat.escapeJson("l1\nl2\r\t"));
+		assertEquals("\"\\u0001\"", ExportFormat.escapeJson("\u0001"));
+	}
+
+	@Test
+	void ndjsonWritesOneObjectPerLineWithoutNulls() throws IOException {
+		String ndjson = write(ExportFormat.NDJSON);
+
+		assertEquals(1, ndjson.split("\n").length);
+		assertTrue(ndjson.endsWith("}\n"));
+		assertTrue(ndjson.startsWith("{\"id\":7,\"firstName\":\"Amina\",\"lastName\":\"El Amrani\""));
+		assertTrue(ndjson.contains("\"company\":\"Atlas; \\\"Conseil\\\"\""));
+		assertTrue(ndjson.contains("\"notes\":\"ligne 1\\nligne 2, suite\\\\fin\\t.\""));
+		assertTrue(ndjson.contains("\"birthday\":\"1990-05-17\""));
+		assertTrue(ndjson.contains("\"createdAt\":\"2024-03-01T09:30:15\""));
+		assertFalse(ndjson.contains("phone"));
+		assertFalse(ndjson.contains("updatedAt"));
+	}
+
+	@Test
+	void vcardEscapesTextValues() {
+		assertEquals("Atlas\\; Conseil\\, Fès", ExportFormat.escapeVcardText("Atlas; Conseil, Fès"));
+		assertEquals("a\\\\b", ExportFormat.escapeVcardText("a\\b"));
+		assertEquals("l1\\nl2\\nl3", ExportFormat.escapeVcardText("l1\r\nl2\nl3"));
+		assertNull(ExportFormat.escapeVcardText(null));
+	}
+
+	@Test
+	void vcardFoldsLongLinesWithoutSplittingCharacters() throws IOException {
+		StringWriter writer = new StringWriter();
+		ExportFormat.writeVcardLine(writer, "NOTE", "é".repeat(100));
+		String folded = writer.toString();
+
+		assertTrue(folded.endsWith("\r\n"));
+		String[] lines = folded.substring(0, folded.length() - 2).split("\r\n");
+		assertTrue(lines.length > 1);
+		for (int i = 0; i < lines.length; i++) {
+			assertTrue(lines[i].getBytes(StandardCharsets.UTF_8).length <= 75);
+			assertEquals(i > 0, lines[i].startsWith(" "));
+		}
+		StringBuilder unfolded = new StringBuilder(lines[0]);
+		for (int i = 1; i < lines.length; i++) {
+			unfolded.append(lines[i].substring(1));
+		}
+		assertEquals("NOTE:" + "é".repeat(100), unfolded.toString());
+	}
+
+	@Test
+	void vcardWritesOneCardPerContact() throws IOException {
+		String vcard = write(ExportFormat.VCF);
+
+		assertTrue(vcard.startsWith("BEGIN:VCARD\r\nVERSION:4.0\r\n"));
+		assertTrue(vcard.endsWith("END:VCARD\r\n"));
+		assertTrue(vcard.contains("\r\nFN:Amina El Amrani\r\n"));
+		assertTrue(vcard.contains("\r\nN:El Amrani;Amina;;;\r\n"));
+		assertTrue(vcard.contains("\r\nORG:Atlas\\; \"Conseil\"\r\n"));
+		assertTrue(vcard.contains("\r\nADR:;;;Fès;;;\r\n"));
+		assertTrue(vcard.contains("\r\nBDAY:19900517\r\n"));
+		assertTrue(vcard.contains("\r\nREV:20240301T093015\r\n"));
+		assertFalse(vcard.contains("TEL:"));
+	}
+
+	@Test
+	void resolvesFormatFromParameter() {
+		assertEquals(ExportFormat.CSV, ExportFormat.fromParameter(null));
+		assertEquals(ExportFormat.NDJSON, ExportFormat.fromParameter("NDJSON"));
+		assertEquals(ExportFormat.VCF, ExportFormat.fromParameter("vcf"));
+		assertThrows(InvalidExportFormatException.class, () -> ExportFormat.fromParameter("xml"));
+	}
+
+	private static String write(ExportFormat format) throws IOException {
+		StringWriter writer = new StringWriter();
+		format.writeHeader(writer);
+		format.writeRow(writer, CONTACT);
+		return writer.toString();
+	}
+}